@@ -4,6 +4,7 @@ import com.allfire.eregions.commands.ERegionCommand;
 import com.allfire.eregions.listeners.BoundaryDetectionListener;
 import com.allfire.eregions.listeners.PlayerInteractListener;
 import com.allfire.eregions.listeners.PlayerChatListener;
+import com.allfire.eregions.listeners.PlayerJoinListener;
 import com.allfire.eregions.listeners.PlayerQuitListener;
 import com.allfire.eregions.listeners.PlayerDeathListener;
 import com.allfire.eregions.managers.*;
@@ -37,9 +38,16 @@ public class ERegions extends JavaPlugin {
     // Managers
     private ConfigManager configManager;
     private CommandTriggerManager commandTriggerManager;
+    private TriggerActionRegistry triggerActionRegistry;
     private RegionManager regionManager;
+    private RegionChangeManager regionChangeManager;
     private SelectionManager selectionManager;
     private BoundaryDetectionManager boundaryDetectionManager;
+    private PlayerRegionTracker playerRegionTracker;
+    private RegionOwnershipIndex regionOwnershipIndex;
+    private PlayerNameCache playerNameCache;
+    private RegionProjectionCache regionProjectionCache;
+    private PlaceholderAPIExpansion placeholderExpansion;
     private MessageManager messageManager;
     private PermissionManager permissionManager;
     private WorldEditIntegrationManager worldEditIntegrationManager;
@@ -74,6 +82,9 @@ public class ERegions extends JavaPlugin {
         
         getLogger().info("eRegions запускается...");
         
+        // Trigger lines are resolved against native actions when the config is loaded
+        triggerActionRegistry = new TriggerActionRegistry(this);
+        
         // Initialize configuration
         initializeConfiguration();
         
@@ -105,10 +116,30 @@ public class ERegions extends JavaPlugin {
         }
         
         // Cleanup
+        if (regionChangeManager != null) {
+            regionChangeManager.stop();
+        }
+        
         if (boundaryDetectionManager != null) {
             boundaryDetectionManager.cleanup();
         }
         
+        if (commandTriggerManager != null) {
+            commandTriggerManager.shutdown();
+        }
+        
+        if (playerRegionTracker != null) {
+            playerRegionTracker.clear();
+        }
+        
+        if (regionOwnershipIndex != null) {
+            regionOwnershipIndex.clear();
+        }
+        
+        if (regionProjectionCache != null) {
+            regionProjectionCache.clear();
+        }
+        
         getLogger().info("eRegions отключен!");
     }
     
@@ -137,7 +168,15 @@ public class ERegions extends JavaPlugin {
             // CommandTriggerManager will be initialized after MessageUtils
             selectionManager = new SelectionManager(this);
             regionManager = new RegionManager(this);
+            regionChangeManager = new RegionChangeManager(this);
             boundaryDetectionManager = new BoundaryDetectionManager(this);
+            playerRegionTracker = new PlayerRegionTracker(this);
+            regionChangeManager.addListener(playerRegionTracker);
+            regionOwnershipIndex = new RegionOwnershipIndex(this);
+            regionChangeManager.addListener(regionOwnershipIndex);
+            playerNameCache = new PlayerNameCache(this);
+            regionProjectionCache = new RegionProjectionCache(this);
+            regionChangeManager.addListener(regionProjectionCache);
             
             // Initialize integration managers
             worldEditIntegrationManager = new WorldEditIntegrationManager(this);
@@ -203,6 +242,7 @@ public class ERegions extends JavaPlugin {
             getServer().getPluginManager().registerEvents(new PlayerInteractListener(this), this);
             getServer().getPluginManager().registerEvents(new PlayerChatListener(this), this);
             getServer().getPluginManager().registerEvents(new BoundaryDetectionListener(this), this);
+            getServer().getPluginManager().registerEvents(new PlayerJoinListener(this), this);
             getServer().getPluginManager().registerEvents(new PlayerQuitListener(this), this);
             getServer().getPluginManager().registerEvents(new PlayerDeathListener(this), this);
             
@@ -227,9 +267,30 @@ public class ERegions extends JavaPlugin {
                 worldGuardIntegrationManager.initialize();
             }
             
+            // Start tracking region changes made outside eRegions
+            if (regionChangeManager != null) {
+                regionChangeManager.start();
+            }
+            
+            // Start boundary detection
+            if (boundaryDetectionManager != null) {
+                boundaryDetectionManager.initialize();
+            }
+            
+            // Start draining queued trigger commands
+            if (commandTriggerManager != null) {
+                commandTriggerManager.start();
+            }
+            
+            // Preload player names for owner/member display
+            if (playerNameCache != null) {
+                playerNameCache.preload();
+            }
+            
             // Initialize PlaceholderAPI integration
             if (getServer().getPluginManager().getPlugin("PlaceholderAPI") != null) {
-                new PlaceholderAPIExpansion(this).register();
+                placeholderExpansion = new PlaceholderAPIExpansion(this);
+                placeholderExpansion.register();
                 getLogger().info("PlaceholderAPI интеграция загружена!");
             }
             
@@ -247,6 +308,8 @@ public class ERegions extends JavaPlugin {
             reloadConfig();
             configManager.loadConfiguration();
             messageManager.reloadMessages();
+            regionChangeManager.start();
+            boundaryDetectionManager.initialize();
             getLogger().info("Конфигурация перезагружена!");
         } catch (Exception e) {
             getLogger().log(Level.SEVERE, "Ошибка при перезагрузке конфигурации!", e);
@@ -266,10 +329,43 @@ public class ERegions extends JavaPlugin {
         return commandTriggerManager;
     }
     
+    public TriggerActionRegistry getTriggerActionRegistry() {
+        return triggerActionRegistry;
+    }
+    
     public RegionManager getRegionManager() {
         return regionManager;
     }
     
+    public RegionChangeManager getRegionChangeManager() {
+        return regionChangeManager;
+    }
+    
+    public PlayerRegionTracker getPlayerRegionTracker() {
+        return playerRegionTracker;
+    }
+    
+    public RegionOwnershipIndex getRegionOwnershipIndex() {
+        return regionOwnershipIndex;
+    }
+    
+    public PlayerNameCache getPlayerNameCache() {
+        return playerNameCache;
+    }
+    
+    public RegionProjectionCache getRegionProjectionCache() {
+        return regionProjectionCache;
+    }
+    
+    /**
+     * Get PlaceholderAPI expansion, e.g. for bulk resolution via resolveAll
+     * 
+     * @return Expansion or null if PlaceholderAPI is not installed
+     */
+    public PlaceholderAPIExpansion getPlaceholderExpansion() {
+        return placeholderExpansion;
+    }
+    
     public SelectionManager getSelectionManager() {
         return selectionManager;
     }
@@ -123,6 +123,9 @@ public class AdminFlagCommand extends SubCommand {
             }
         }
         
+        // Flags were changed through WorldGuard commands, update region caches
+        worldGuardUtils.notifyRegionChanged(world, regionName);
+        
         if (success) {
             if (!silent) {
                 plugin.getMessageUtils().sendMessage(sender, "admin-flag-set-success", "flag_name", flagName, "value", value, "groups", String.join(", ", groups), "region_name", regionName);
@@ -1,18 +1,31 @@
 package com.allfire.eregions.integrations;
 
 import com.allfire.eregions.ERegions;
+import com.allfire.eregions.managers.PlayerRegionTracker;
+import com.allfire.eregions.managers.RegionChangeManager;
+import com.allfire.eregions.managers.RegionMetrics;
+import com.allfire.eregions.managers.RegionProjectionCache;
+import com.allfire.eregions.managers.RegionProjectionCache.Projection;
+import com.allfire.eregions.managers.SelectionManager;
+import com.allfire.eregions.managers.SelectionManager.SelectionSnapshot;
 import com.allfire.eregions.utils.WorldGuardUtils;
 import com.allfire.eregions.utils.WorldEditUtils;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
-import org.bukkit.Location;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.List;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * PlaceholderAPI Expansion for eRegions
@@ -21,16 +34,56 @@ import java.util.ArrayList;
  * 
  * @author AllF1RE
  */
-public class PlaceholderAPIExpansion extends PlaceholderExpansion {
+public class PlaceholderAPIExpansion extends PlaceholderExpansion implements RegionChangeManager.RegionChangeListener {
+    
+    private static final int MAX_PARSED_PLACEHOLDERS = 1024;
+    
+    // Immutable, indexed families are expanded once when the class is loaded
+    private static final List<String> PLACEHOLDERS = expandPlaceholders(
+        // Selection placeholders
+        "%eregions_selection_pos1%",
+        "%eregions_selection_pos2%",
+        "%eregions_selection_size%",
+        // Region placeholders
+        "%eregions_region_flags%",
+        // Region info placeholders
+        "%eregions_region_viewing%",
+        "%eregions_region_size%",
+        "%eregions_region_area%",
+        "%eregions_region_height%",
+        "%eregions_region_creator%",
+        "%eregions_region_expelled%",
+        // Owners and members
+        "%eregions_region_owners%",
+        "%eregions_region_members%",
+        "%eregions_region_owners_#%",
+        "%eregions_region_members_#%",
+        "%eregions_region_flags_#%",
+        // Region owned by player
+        "%eregions_region_owned%",
+        "%eregions_region_owned_#%",
+        // Region membered by player
+        "%eregions_region_membed%",
+        "%eregions_region_membed_#%"
+    );
     
     private final ERegions plugin;
     private final WorldGuardUtils worldGuardUtils;
     private final WorldEditUtils worldEditUtils;
+    private final PlayerRegionTracker playerRegionTracker;
+    private final RegionProjectionCache regionProjectionCache;
+    private final Map<String, ParsedPlaceholder> parsedPlaceholders; // Params -> parsed placeholder
+    private final Map<UUID, Map<String, CachedResult>> resultCache; // Player -> params -> result
     
     public PlaceholderAPIExpansion(ERegions plugin) {
         this.plugin = plugin;
         this.worldGuardUtils = plugin.getWorldGuardUtils();
         this.worldEditUtils = plugin.getWorldEditUtils();
+        this.playerRegionTracker = plugin.getPlayerRegionTracker();
+        this.regionProjectionCache = plugin.getRegionProjectionCache();
+        this.parsedPlaceholders = new ConcurrentHashMap<>();
+        this.resultCache = new ConcurrentHashMap<>();
+        plugin.getRegionChangeManager().addListener(this);
     }
     
     /**
@@ -83,164 +136,184 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     
     @Override
     public List<String> getPlaceholders() {
-        List<String> placeholders = new ArrayList<>();
-        
-        // Selection placeholders
-        placeholders.add("%eregions_selection_pos1%");
-        placeholders.add("%eregions_selection_pos2%");
-        placeholders.add("%eregions_selection_size%");
-        
-        // Region placeholders
-        placeholders.add("%eregions_region_flags%");
-        placeholders.add("%eregions_region_flags_1%");
-        placeholders.add("%eregions_region_flags_2%");
-        placeholders.add("%eregions_region_flags_3%");
-        placeholders.add("%eregions_region_flags_4%");
-        placeholders.add("%eregions_region_flags_5%");
-        placeholders.add("%eregions_region_flags_6%");
-        placeholders.add("%eregions_region_flags_7%");
-        placeholders.add("%eregions_region_flags_8%");
-        placeholders.add("%eregions_region_flags_9%");
-        placeholders.add("%eregions_region_flags_10%");
-        
-        // Region info placeholders
-        placeholders.add("%eregions_region_viewing%");
-        placeholders.add("%eregions_region_size%");
-        placeholders.add("%eregions_region_creator%");
-        placeholders.add("%eregions_region_expelled%");
-        
-        // Owners and members
-        placeholders.add("%eregions_region_owners%");
-        placeholders.add("%eregions_region_members%");
+        return PLACEHOLDERS;
+    }
+    
+    @Override
+    public String onPlaceholderRequest(Player player, @NotNull String params) {
+        if (player == null) {
+            return "Player required";
+        }
         
-        // Individual owners (1-50)
-        for (int i = 1; i <= 50; i++) {
-            placeholders.add("%eregions_region_owners_" + i + "%");
+        try {
+            String result = resolveCached(new PlaceholderContext(player), params);
+            
+            if (plugin.getConfigManager().isDebugMode()) {
+                debugLog("Placeholder " + params + " for player " + player.getName() + " result: " + result, "placeholder-request");
+            }
+            return result;
+            
+        } catch (Exception e) {
+            debugLog("PlaceholderAPI error for " + params + ": " + e.getMessage(), "error");
         }
         
-        // Individual members (1-50)
-        for (int i = 1; i <= 50; i++) {
-            placeholders.add("%eregions_region_members_" + i + "%");
+        return "";
+    }
+    
+    /**
+     * Resolve several placeholders for player at once
+     * Region, owner/member lists and region lookups are shared by all of them,
+     * so scoreboards and HUDs can fetch a full refresh in one call
+     * 
+     * @param player Player
+     * @param paramsList Placeholder params without the eregions_ prefix, e.g. region_owners_1
+     * @return Results by params, in the order of the given collection
+     */
+    public Map<String, String> resolveAll(Player player, Collection<String> paramsList) {
+        Map<String, String> results = new LinkedHashMap<>();
+        if (player == null) {
+            return results;
         }
         
-        // Region flags (1-50)
-        for (int i = 1; i <= 50; i++) {
-            placeholders.add("%eregions_region_flags_" + i + "%");
+        PlaceholderContext context = new PlaceholderContext(player);
+        for (String params : paramsList) {
+            try {
+                results.put(params, resolveCached(context, params));
+            } catch (Exception e) {
+                debugLog("PlaceholderAPI error for " + params + ": " + e.getMessage(), "error");
+                results.put(params, "");
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Drop cached results of player
+     * 
+     * @param player Player
+     */
+    public void invalidate(Player player) {
+        resultCache.remove(player.getUniqueId());
+    }
+    
+    /**
+     * Drop all cached results, region data may have changed
+     */
+    @Override
+    public void onRegionChanged(World world, String regionId, ProtectedRegion region) {
+        resultCache.clear();
+    }
+    
+    /**
+     * Resolve placeholder, using cached result while its TTL has not passed
+     */
+    private String resolveCached(PlaceholderContext context, String params) {
+        ParsedPlaceholder parsed = parse(params);
+        if (parsed.type == PlaceholderType.UNKNOWN) {
+            return "";
         }
         
-        // Region owned by player
-        placeholders.add("%eregions_region_owned%");
-        for (int i = 1; i <= 50; i++) {
-            placeholders.add("%eregions_region_owned_" + i + "%");
+        int ttlTicks = plugin.getConfigManager().getPlaceholderCacheTtl(parsed.type.cacheFamily);
+        if (ttlTicks <= 0) {
+            return resolve(context, parsed);
         }
         
-        // Region membered by player
-        placeholders.add("%eregions_region_membed%");
-        for (int i = 1; i <= 50; i++) {
-            placeholders.add("%eregions_region_membed_" + i + "%");
+        long now = System.currentTimeMillis();
+        Map<String, CachedResult> playerResults = resultCache.computeIfAbsent(context.player.getUniqueId(), id -> new ConcurrentHashMap<>());
+        CachedResult cached = playerResults.get(params);
+        if (cached != null && now < cached.expiresAt) {
+            return cached.value;
         }
         
-        return placeholders;
+        String result = resolve(context, parsed);
+        playerResults.put(params, new CachedResult(result, now + ttlTicks * 50L));
+        return result;
     }
     
-    @Override
-    public String onPlaceholderRequest(Player player, @NotNull String params) {
-        if (player == null) {
-            return "Player required";
-        }
-        
-        try {
-            debugLog("Processing placeholder: " + params + " for player: " + player.getName(), "placeholder-request");
-            
+    /**
+     * Resolve parsed placeholder for player
+     */
+    private String resolve(PlaceholderContext context, ParsedPlaceholder parsed) {
+        switch (parsed.type) {
             // Selection placeholders
-            if (params.equals("selection_pos1")) {
-                String result = getSelectionPos1(player);
-                debugLog("selection_pos1 result: " + result, "selection");
-                return result;
-            } else if (params.equals("selection_pos2")) {
-                String result = getSelectionPos2(player);
-                debugLog("selection_pos2 result: " + result, "selection");
-                return result;
-            } else if (params.equals("selection_size")) {
-                String result = getSelectionSize(player);
-                debugLog("selection_size result: " + result, "selection");
-                return result;
-            }
+            case SELECTION_POS1:
+                return getSelectionPos1(context);
+            case SELECTION_POS2:
+                return getSelectionPos2(context);
+            case SELECTION_SIZE:
+                return getSelectionSize(context);
             
             // Region placeholders
-            else if (params.equals("region_flags")) {
-                String result = getRegionFlags(player);
-                debugLog("region_flags result: " + result, "region");
-                return result;
-            } else if (params.startsWith("region_flags_")) {
-                String result = getRegionFlagsByIndex(player, params);
-                debugLog("region_flags_" + params.substring("region_flags_".length()) + " result: " + result, "region");
-                return result;
-            } else if (params.equals("region_viewing")) {
-                String result = getRegionViewing(player);
-                debugLog("region_viewing result: " + result, "region");
-                return result;
-            } else if (params.equals("region_size")) {
-                String result = getRegionSize(player);
-                debugLog("region_size result: " + result, "region");
-                return result;
-            } else if (params.equals("region_owners")) {
-                String result = getRegionOwners(player);
-                debugLog("region_owners result: " + result, "region");
-                return result;
-            } else if (params.equals("region_members")) {
-                String result = getRegionMembers(player);
-                debugLog("region_members result: " + result, "region");
-                return result;
-            } else if (params.startsWith("region_owners_")) {
-                String result = getRegionOwnersByIndex(player, params);
-                debugLog("region_owners_" + params.substring("region_owners_".length()) + " result: " + result, "region");
-                return result;
-            } else if (params.startsWith("region_members_")) {
-                String result = getRegionMembersByIndex(player, params);
-                debugLog("region_members_" + params.substring("region_members_".length()) + " result: " + result, "region");
-                return result;
-            } else if (params.equals("region_creator")) {
-                String result = getRegionCreator(player);
-                debugLog("region_creator result: " + result, "region");
-                return result;
-            } else if (params.equals("region_expelled")) {
-                String result = getRegionExpelled(player);
-                debugLog("region_expelled result: " + result, "region");
-                return result;
-            } else if (params.equals("region_owned")) {
-                String result = getRegionOwned(player);
-                debugLog("region_owned result: " + result, "region");
-                return result;
-            } else if (params.startsWith("region_owned_")) {
-                String result = getRegionOwnedByIndex(player, params);
-                debugLog("region_owned_" + params.substring("region_owned_".length()) + " result: " + result, "region");
-                return result;
-            } else if (params.equals("region_membed")) {
-                String result = getRegionMembed(player);
-                debugLog("region_membed result: " + result, "region");
-                return result;
-            } else if (params.startsWith("region_membed_")) {
-                String result = getRegionMembedByIndex(player, params);
-                debugLog("region_membed_" + params.substring("region_membed_".length()) + " result: " + result, "region");
-                return result;
-            }
-            
-        } catch (Exception e) {
-            debugLog("PlaceholderAPI error for " + params + ": " + e.getMessage(), "error");
+            case REGION_FLAGS:
+                return getRegionFlags(context);
+            case REGION_FLAGS_INDEX:
+                return getRegionFlagsByIndex(context, parsed.index);
+            case REGION_VIEWING:
+                return getRegionViewing(context);
+            case REGION_SIZE:
+                return getRegionSize(context);
+            case REGION_AREA:
+                return getRegionArea(context);
+            case REGION_HEIGHT:
+                return getRegionHeight(context);
+            case REGION_OWNERS:
+                return getRegionOwners(context);
+            case REGION_MEMBERS:
+                return getRegionMembers(context);
+            case REGION_OWNERS_INDEX:
+                return getRegionOwnersByIndex(context, parsed.index);
+            case REGION_MEMBERS_INDEX:
+                return getRegionMembersByIndex(context, parsed.index);
+            case REGION_CREATOR:
+                return getRegionCreator(context);
+            case REGION_EXPELLED:
+                return getRegionExpelled(context);
+            case REGION_OWNED:
+                return getRegionOwned(context);
+            case REGION_OWNED_INDEX:
+                return getRegionOwnedByIndex(context, parsed.index);
+            case REGION_MEMBED:
+                return getRegionMembed(context);
+            case REGION_MEMBED_INDEX:
+                return getRegionMembedByIndex(context, parsed.index);
+            default:
+                return "";
+        }
+    }
+    
+    /**
+     * Parse params into placeholder type and index
+     * Results are cached per distinct params string, so parsing happens once
+     */
+    private ParsedPlaceholder parse(String params) {
+        ParsedPlaceholder parsed = parsedPlaceholders.get(params);
+        if (parsed != null) {
+            return parsed;
         }
         
-        return "";
+        parsed = PlaceholderType.parse(params);
+        // Bounded, arbitrary params from other plugins must not grow the cache forever
+        if (parsedPlaceholders.size() < MAX_PARSED_PLACEHOLDERS) {
+            parsedPlaceholders.put(params, parsed);
+        }
+        return parsed;
     }
     
     /**
      * Get selection position 1
+     * eRegions selections are served from their snapshot, WorldEdit is only asked
+     * for selections made with its own tools
      */
-    private String getSelectionPos1(Player player) {
+    private String getSelectionPos1(PlaceholderContext context) {
         try {
-            BlockVector3 pos1 = worldEditUtils.getSelectionPos1(player);
+            SelectionSnapshot snapshot = context.getSelection();
+            if (snapshot != null) {
+                return formatPosition(snapshot.getMinX(), snapshot.getMinY(), snapshot.getMinZ());
+            }
+            
+            BlockVector3 pos1 = worldEditUtils.getSelectionPos1(context.player);
             if (pos1 != null) {
-                return String.format("%.0f,%.0f,%.0f", pos1.getX(), pos1.getY(), pos1.getZ());
+                return formatPosition(pos1.x(), pos1.y(), pos1.z());
             }
         } catch (Exception e) {
             // Ignore
@@ -251,11 +324,16 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get selection position 2
      */
-    private String getSelectionPos2(Player player) {
+    private String getSelectionPos2(PlaceholderContext context) {
         try {
-            BlockVector3 pos2 = worldEditUtils.getSelectionPos2(player);
+            SelectionSnapshot snapshot = context.getSelection();
+            if (snapshot != null) {
+                return formatPosition(snapshot.getMaxX(), snapshot.getMaxY(), snapshot.getMaxZ());
+            }
+            
+            BlockVector3 pos2 = worldEditUtils.getSelectionPos2(context.player);
             if (pos2 != null) {
-                return String.format("%.0f,%.0f,%.0f", pos2.getX(), pos2.getY(), pos2.getZ());
+                return formatPosition(pos2.x(), pos2.y(), pos2.z());
             }
         } catch (Exception e) {
             // Ignore
@@ -266,9 +344,14 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get selection size
      */
-    private String getSelectionSize(Player player) {
+    private String getSelectionSize(PlaceholderContext context) {
         try {
-            int size = worldEditUtils.getSelectionSize(player);
+            SelectionSnapshot snapshot = context.getSelection();
+            if (snapshot != null) {
+                return String.valueOf(snapshot.getVolume());
+            }
+            
+            long size = worldEditUtils.getSelectionSize(context.player);
             return String.valueOf(size);
         } catch (Exception e) {
             // Ignore
@@ -276,15 +359,18 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
         return "0";
     }
     
+    private static String formatPosition(int x, int y, int z) {
+        return x + "," + y + "," + z;
+    }
+    
     /**
      * Get region flags
      */
-    private String getRegionFlags(Player player) {
+    private String getRegionFlags(PlaceholderContext context) {
         try {
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
-                return worldGuardUtils.getRegionFlagsString(region);
+                return String.join(", ", context.getProjection().getFlags());
             }
         } catch (Exception e) {
             // Ignore
@@ -295,21 +381,11 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get region flags by index
      */
-    private String getRegionFlagsByIndex(Player player, String params) {
+    private String getRegionFlagsByIndex(PlaceholderContext context, int index) {
         try {
-            String indexStr = params.substring("region_flags_".length());
-            int index = Integer.parseInt(indexStr);
-            if (index < 1 || index > 50) {
-                return "";
-            }
-            
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
-                List<String> flags = worldGuardUtils.getRegionFlagsList(region);
-                if (index <= flags.size()) {
-                    return flags.get(index - 1); // Convert to 0-based index
-                }
+                return Projection.getByIndex(context.getProjection().getFlags(), index);
             }
         } catch (Exception e) {
             // Ignore
@@ -320,37 +396,57 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get region viewing permission
      */
-    private String getRegionViewing(Player player) {
-        return player.hasPermission("eregions.view") ? "true" : "false";
+    private String getRegionViewing(PlaceholderContext context) {
+        return context.player.hasPermission("eregions.view") ? "true" : "false";
+    }
+    
+    /**
+     * Get region size (volume)
+     */
+    private String getRegionSize(PlaceholderContext context) {
+        RegionMetrics metrics = getRegionMetrics(context);
+        return metrics != null ? String.valueOf(metrics.getVolume()) : "0";
+    }
+    
+    /**
+     * Get region footprint area
+     */
+    private String getRegionArea(PlaceholderContext context) {
+        RegionMetrics metrics = getRegionMetrics(context);
+        return metrics != null ? String.valueOf(metrics.getArea()) : "0";
+    }
+    
+    /**
+     * Get region height
+     */
+    private String getRegionHeight(PlaceholderContext context) {
+        RegionMetrics metrics = getRegionMetrics(context);
+        return metrics != null ? String.valueOf(metrics.getHeight()) : "0";
     }
     
     /**
-     * Get region size
+     * Get metrics of current region, computed once per region version
      */
-    private String getRegionSize(Player player) {
+    private RegionMetrics getRegionMetrics(PlaceholderContext context) {
         try {
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
-            if (region != null) {
-                int size = worldGuardUtils.getRegionSize(region);
-                return String.valueOf(size);
+            if (context.getRegion() != null) {
+                return context.getProjection().getMetrics();
             }
         } catch (Exception e) {
             // Ignore
         }
-        return "0";
+        return null;
     }
     
     /**
      * Get region owners
      */
-    private String getRegionOwners(Player player) {
+    private String getRegionOwners(PlaceholderContext context) {
         try {
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
-                List<String> owners = worldGuardUtils.getRegionOwnersList(region);
-                String separator = plugin.getConfig().getString("placeholders.owners-separator", ", ");
+                List<String> owners = context.getProjection().getOwners();
+                String separator = plugin.getConfigManager().getPlaceholderSeparator("owners-separator");
                 return String.join(separator, owners);
             }
         } catch (Exception e) {
@@ -362,13 +458,12 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get region members
      */
-    private String getRegionMembers(Player player) {
+    private String getRegionMembers(PlaceholderContext context) {
         try {
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
-                List<String> members = worldGuardUtils.getRegionMembersList(region);
-                String separator = plugin.getConfig().getString("placeholders.members-separator", ", ");
+                List<String> members = context.getProjection().getMembers();
+                String separator = plugin.getConfigManager().getPlaceholderSeparator("members-separator");
                 return String.join(separator, members);
             }
         } catch (Exception e) {
@@ -380,21 +475,11 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get region owners by index
      */
-    private String getRegionOwnersByIndex(Player player, String params) {
+    private String getRegionOwnersByIndex(PlaceholderContext context, int index) {
         try {
-            String indexStr = params.substring("region_owners_".length());
-            int index = Integer.parseInt(indexStr);
-            if (index < 1 || index > 50) {
-                return "";
-            }
-            
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
-                List<String> owners = worldGuardUtils.getRegionOwnersList(region);
-                if (index <= owners.size()) {
-                    return owners.get(index - 1); // Convert to 0-based index
-                }
+                return Projection.getByIndex(context.getProjection().getOwners(), index);
             }
         } catch (Exception e) {
             // Ignore
@@ -405,21 +490,11 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get region members by index
      */
-    private String getRegionMembersByIndex(Player player, String params) {
+    private String getRegionMembersByIndex(PlaceholderContext context, int index) {
         try {
-            String indexStr = params.substring("region_members_".length());
-            int index = Integer.parseInt(indexStr);
-            if (index < 1 || index > 50) {
-                return "";
-            }
-            
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
-                List<String> members = worldGuardUtils.getRegionMembersList(region);
-                if (index <= members.size()) {
-                    return members.get(index - 1); // Convert to 0-based index
-                }
+                return Projection.getByIndex(context.getProjection().getMembers(), index);
             }
         } catch (Exception e) {
             // Ignore
@@ -430,10 +505,9 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get region creator
      */
-    private String getRegionCreator(Player player) {
+    private String getRegionCreator(PlaceholderContext context) {
         try {
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
                 return worldGuardUtils.getRegionCreator(region);
             }
@@ -446,10 +520,9 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get region expelled player
      */
-    private String getRegionExpelled(Player player) {
+    private String getRegionExpelled(PlaceholderContext context) {
         try {
-            Location location = player.getLocation();
-            ProtectedRegion region = worldGuardUtils.getRegionAtLocation(location);
+            ProtectedRegion region = context.getRegion();
             if (region != null) {
                 return worldGuardUtils.getRegionExpelled(region);
             }
@@ -462,10 +535,10 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get regions owned by player
      */
-    private String getRegionOwned(Player player) {
+    private String getRegionOwned(PlaceholderContext context) {
         try {
-            List<String> ownedRegions = worldGuardUtils.getPlayerOwnedRegions(player);
-            String separator = plugin.getConfig().getString("placeholders.owned-separator", ", ");
+            List<String> ownedRegions = context.getOwnedRegions();
+            String separator = plugin.getConfigManager().getPlaceholderSeparator("owned-separator");
             return String.join(separator, ownedRegions);
         } catch (Exception e) {
             // Ignore
@@ -476,15 +549,9 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get regions owned by player by index
      */
-    private String getRegionOwnedByIndex(Player player, String params) {
+    private String getRegionOwnedByIndex(PlaceholderContext context, int index) {
         try {
-            String indexStr = params.substring("region_owned_".length());
-            int index = Integer.parseInt(indexStr);
-            if (index < 1 || index > 50) {
-                return "";
-            }
-            
-            List<String> ownedRegions = worldGuardUtils.getPlayerOwnedRegions(player);
+            List<String> ownedRegions = context.getOwnedRegions();
             if (index <= ownedRegions.size()) {
                 return ownedRegions.get(index - 1); // Convert to 0-based index
             }
@@ -497,10 +564,10 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get regions where player is member
      */
-    private String getRegionMembed(Player player) {
+    private String getRegionMembed(PlaceholderContext context) {
         try {
-            List<String> memberRegions = worldGuardUtils.getPlayerMemberRegions(player.getName());
-            String separator = plugin.getConfig().getString("placeholders.membered-separator", ", ");
+            List<String> memberRegions = context.getMemberRegions();
+            String separator = plugin.getConfigManager().getPlaceholderSeparator("membered-separator");
             return String.join(separator, memberRegions);
         } catch (Exception e) {
             // Ignore
@@ -511,15 +578,9 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
     /**
      * Get regions where player is member by index
      */
-    private String getRegionMembedByIndex(Player player, String params) {
+    private String getRegionMembedByIndex(PlaceholderContext context, int index) {
         try {
-            String indexStr = params.substring("region_membed_".length());
-            int index = Integer.parseInt(indexStr);
-            if (index < 1 || index > 50) {
-                return "";
-            }
-            
-            List<String> memberRegions = worldGuardUtils.getPlayerMemberRegions(player.getName());
+            List<String> memberRegions = context.getMemberRegions();
             if (index <= memberRegions.size()) {
                 return memberRegions.get(index - 1); // Convert to 0-based index
             }
@@ -529,4 +590,200 @@ public class PlaceholderAPIExpansion extends PlaceholderExpansion {
         return "";
     }
     
+    /**
+     * Data of a single player shared by placeholders resolved together
+     * Everything is looked up lazily and at most once
+     */
+    private final class PlaceholderContext {
+        private final Player player;
+        private boolean regionResolved;
+        private ProtectedRegion region;
+        private Projection projection;
+        private List<String> ownedRegions;
+        private List<String> memberRegions;
+        
+        private PlaceholderContext(Player player) {
+            this.player = player;
+        }
+        
+        /**
+         * Get snapshot of eRegions selection of player in the world player is in,
+         * like WorldEdit reports selections of the current world only
+         * 
+         * @return Snapshot or null if the selection is not managed by eRegions or made in another world
+         */
+        private SelectionSnapshot getSelection() {
+            SelectionManager selectionManager = plugin.getSelectionManager();
+            SelectionSnapshot snapshot = selectionManager != null ? selectionManager.getSelectionSnapshot(player) : null;
+            if (snapshot == null || !snapshot.getWorldName().equals(player.getWorld().getName())) {
+                return null;
+            }
+            return snapshot;
+        }
+        
+        /**
+         * Get region player is standing in
+         * The tracker resolves it once per block change as well
+         */
+        private ProtectedRegion getRegion() {
+            if (!regionResolved) {
+                region = playerRegionTracker.getCurrentRegion(player);
+                regionResolved = true;
+            }
+            return region;
+        }
+        
+        /**
+         * Get projection of current region, must only be called when region is not null
+         */
+        private Projection getProjection() {
+            if (projection == null) {
+                projection = regionProjectionCache.get(player.getWorld(), getRegion());
+            }
+            return projection;
+        }
+        
+        private List<String> getOwnedRegions() {
+            if (ownedRegions == null) {
+                ownedRegions = worldGuardUtils.getPlayerOwnedRegions(player);
+            }
+            return ownedRegions;
+        }
+        
+        private List<String> getMemberRegions() {
+            if (memberRegions == null) {
+                memberRegions = worldGuardUtils.getPlayerMemberRegions(player.getName());
+            }
+            return memberRegions;
+        }
+    }
+    
+    /**
+     * Supported placeholders
+     * Indexed types match "prefix_N" with N in 1..MAX_INDEX
+     */
+    private enum PlaceholderType {
+        SELECTION_POS1("selection_pos1", false, "selection"),
+        SELECTION_POS2("selection_pos2", false, "selection"),
+        SELECTION_SIZE("selection_size", false, "selection"),
+        REGION_FLAGS("region_flags", false, "region"),
+        REGION_FLAGS_INDEX("region_flags_", true, "region"),
+        REGION_VIEWING("region_viewing", false, "region"),
+        REGION_SIZE("region_size", false, "region"),
+        REGION_AREA("region_area", false, "region"),
+        REGION_HEIGHT("region_height", false, "region"),
+        REGION_OWNERS("region_owners", false, "region"),
+        REGION_MEMBERS("region_members", false, "region"),
+        REGION_OWNERS_INDEX("region_owners_", true, "region"),
+        REGION_MEMBERS_INDEX("region_members_", true, "region"),
+        REGION_CREATOR("region_creator", false, "region"),
+        REGION_EXPELLED("region_expelled", false, "region"),
+        REGION_OWNED("region_owned", false, "player-regions"),
+        REGION_OWNED_INDEX("region_owned_", true, "player-regions"),
+        REGION_MEMBED("region_membed", false, "player-regions"),
+        REGION_MEMBED_INDEX("region_membed_", true, "player-regions"),
+        UNKNOWN("", false, null);
+        
+        private static final int MAX_INDEX = 50;
+        private static final Map<String, PlaceholderType> EXACT = new HashMap<>();
+        
+        static {
+            for (PlaceholderType type : values()) {
+                if (!type.indexed && type != UNKNOWN) {
+                    EXACT.put(type.key, type);
+                }
+            }
+        }
+        
+        private final String key;
+        private final boolean indexed;
+        private final String cacheFamily; // Key of placeholders.cache-ttl
+        
+        PlaceholderType(String key, boolean indexed, String cacheFamily) {
+            this.key = key;
+            this.indexed = indexed;
+            this.cacheFamily = cacheFamily;
+        }
+        
+        /**
+         * Parse params string, unknown or out of range placeholders map to UNKNOWN
+         */
+        private static ParsedPlaceholder parse(String params) {
+            PlaceholderType exact = EXACT.get(params);
+            if (exact != null) {
+                return new ParsedPlaceholder(exact, 0);
+            }
+            
+            for (PlaceholderType type : values()) {
+                if (!type.indexed || !params.startsWith(type.key)) {
+                    continue;
+                }
+                try {
+                    int index = Integer.parseInt(params.substring(type.key.length()));
+                    if (index >= 1 && index <= MAX_INDEX) {
+                        return new ParsedPlaceholder(type, index);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not an indexed placeholder
+                }
+                break;
+            }
+            return ParsedPlaceholder.UNKNOWN;
+        }
+    }
+    
+    /**
+     * Expand placeholder entries into an immutable list, built once
+     * Entries containing # stand for PlaceholderType.MAX_INDEX entries with # replaced by 1..MAX_INDEX
+     */
+    private static List<String> expandPlaceholders(String... entries) {
+        List<String> expanded = new ArrayList<>();
+        for (String entry : entries) {
+            if (entry.indexOf('#') >= 0) {
+                expanded.addAll(expandIndexed(entry));
+            } else {
+                expanded.add(entry);
+            }
+        }
+        return List.copyOf(expanded);
+    }
+    
+    /**
+     * Generate a single indexed family, # replaced by 1..MAX_INDEX
+     */
+    private static List<String> expandIndexed(String entry) {
+        List<String> family = new ArrayList<>(PlaceholderType.MAX_INDEX);
+        for (int i = 1; i <= PlaceholderType.MAX_INDEX; i++) {
+            family.add(entry.replace("#", String.valueOf(i)));
+        }
+        return family;
+    }
+    
+    /**
+     * Placeholder result with expiry time
+     */
+    private static final class CachedResult {
+        private final String value;
+        private final long expiresAt;
+        
+        private CachedResult(String value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    /**
+     * Placeholder type with parsed index
+     */
+    private static final class ParsedPlaceholder {
+        private static final ParsedPlaceholder UNKNOWN = new ParsedPlaceholder(PlaceholderType.UNKNOWN, 0);
+        
+        private final PlaceholderType type;
+        private final int index;
+        
+        private ParsedPlaceholder(PlaceholderType type, int index) {
+            this.type = type;
+            this.index = index;
+        }
+    }
 }
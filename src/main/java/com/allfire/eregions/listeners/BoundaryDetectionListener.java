@@ -3,9 +3,12 @@ package com.allfire.eregions.listeners;
 import com.allfire.eregions.ERegions;
 import com.allfire.eregions.managers.BoundaryDetectionManager;
 import com.allfire.eregions.managers.CommandTriggerManager;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
 
 import java.util.logging.Level;
@@ -33,28 +36,69 @@ public class BoundaryDetectionListener implements Listener {
     @EventHandler
     public void onPlayerMove(PlayerMoveEvent event) {
         try {
-            Player player = event.getPlayer();
-            
-            // Check if boundary detection is enabled
-            if (!plugin.getConfigManager().isBoundaryDetectionEnabled()) {
+            Location from = event.getFrom();
+            Location to = event.getTo();
+            if (to == null) {
                 return;
             }
             
-            // Only check every 20 ticks (1 second) to reduce spam
-            if (player.getTicksLived() % 20 != 0) {
+            // Check if boundary detection is enabled and driven by movement
+            if (!plugin.getConfigManager().isBoundaryDetectionEnabled()
+                    || plugin.getConfigManager().getBoundaryEngine() != BoundaryDetectionManager.Engine.EVENT) {
                 return;
             }
             
-            // Check if player has view permission
-            if (!player.hasPermission("eregions.region.view")) {
-                return;
-            }
+            Player player = event.getPlayer();
+            BoundaryDetectionManager.CheckMode mode = plugin.getConfigManager().getBoundaryCheckMode();
             
-            // Check for boundary proximity
-            boundaryDetectionManager.checkBoundary(player);
+            if (mode == BoundaryDetectionManager.CheckMode.INTERVAL) {
+                // Only check every 20 ticks (1 second) to reduce spam
+                if (player.getTicksLived() % 20 != 0) {
+                    return;
+                }
+                
+                // Check for boundary proximity
+                boundaryDetectionManager.checkBoundary(player);
+            } else {
+                // Head rotation and movement inside the same block cost nothing
+                if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                        && from.getBlockZ() == to.getBlockZ() && from.getWorld() == to.getWorld()) {
+                    return;
+                }
+                
+                long position = mode == BoundaryDetectionManager.CheckMode.CHUNK
+                    ? packChunk(to.getBlockX() >> 4, to.getBlockZ() >> 4)
+                    : packBlock(to.getBlockX(), to.getBlockY(), to.getBlockZ());
+                if (!boundaryDetectionManager.hasMoved(player, position)) {
+                    return;
+                }
+                
+                // Check for boundary proximity, the manager records the position once it is evaluated
+                boundaryDetectionManager.checkBoundary(player, position);
+            }
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Ошибка в BoundaryDetectionListener", e);
         }
     }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        // Same coordinates in another world must be evaluated again
+        boundaryDetectionManager.resetPosition(event.getPlayer());
+    }
+    
+    /**
+     * Pack block position into a single long (26 bits X/Z, 12 bits Y)
+     */
+    private static long packBlock(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+    
+    /**
+     * Pack chunk position into a single long
+     */
+    private static long packChunk(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
 }
@@ -3,6 +3,7 @@ package com.allfire.eregions.listeners;
 import com.allfire.eregions.ERegions;
 import com.allfire.eregions.managers.SelectionManager;
 import com.allfire.eregions.managers.CommandTriggerManager;
+import com.allfire.eregions.managers.RegionMetrics;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -91,11 +92,14 @@ public class PlayerChatListener implements Listener {
                 selectionData.getPos2()
             );
             
+            RegionMetrics metrics = RegionMetrics.of(selectionData.getPos1(), selectionData.getPos2());
             if (success) {
                 // Trigger region created commands
                 commandTriggerManager.executeTrigger("region-created", player, regionName);
                 
-                plugin.getMessageUtils().sendMessage(player, "region-created-success-direct", "region_name", regionName);
+                plugin.getMessageUtils().sendMessage(player, "region-created-success-direct", "region_name", regionName,
+                    "volume", String.valueOf(metrics.getVolume()), "area", String.valueOf(metrics.getArea()),
+                    "height", String.valueOf(metrics.getHeight()));
                 
                 // Remove from waiting for name but keep selection for size/move commands
                 selectionManager.removeWaitingForName(player);
@@ -115,6 +119,9 @@ public class PlayerChatListener implements Listener {
                 
                 if (!overlappingRegions.isEmpty()) {
                     plugin.getMessageUtils().sendMessage(player, "region-overlapping-direct", "overlapping_regions", String.join(", ", overlappingRegions));
+                } else if (plugin.getRegionManager().exceedsVolumeLimit(metrics)) {
+                    plugin.getMessageUtils().sendMessage(player, "region-too-large-direct", "volume", String.valueOf(metrics.getVolume()),
+                        "max_volume", String.valueOf(plugin.getConfigManager().getMaxRegionVolume()));
                 } else {
                     plugin.getMessageUtils().sendMessage(player, "region-creation-failed-direct", "region_name", regionName);
                 }
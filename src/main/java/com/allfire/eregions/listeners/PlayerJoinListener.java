@@ -0,0 +1,47 @@
+package com.allfire.eregions.listeners;
+
+import com.allfire.eregions.ERegions;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import java.util.logging.Level;
+
+/**
+ * Player Join Listener
+ *
+ * Handles player join events to set up per-player tracking
+ * Registers player for boundary detection
+ *
+ * @author AllF1RE
+ */
+public class PlayerJoinListener implements Listener {
+
+    private final ERegions plugin;
+
+    public PlayerJoinListener(ERegions plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        try {
+            Player player = event.getPlayer();
+            
+            if (plugin.getConfigManager().isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] PlayerJoinListener: Player " + player.getName() + " joined the server");
+            }
+            
+            // Remember name for lookups by name
+            plugin.getPlayerNameCache().remember(player);
+            
+            // Start boundary detection for player
+            plugin.getBoundaryDetectionManager().startTracking(player);
+            
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Ошибка в PlayerJoinListener", e);
+        }
+    }
+}
@@ -37,6 +37,14 @@ public class PlayerQuitListener implements Listener {
                 plugin.getLogger().info("[DEBUG] PlayerQuitListener: Player " + player.getName() + " left the server");
             }
             
+            // Stop boundary detection for player
+            plugin.getBoundaryDetectionManager().stopTracking(player);
+            plugin.getPlayerRegionTracker().invalidate(player);
+            plugin.getCommandTriggerManager().cancelPending(player);
+            if (plugin.getPlaceholderExpansion() != null) {
+                plugin.getPlaceholderExpansion().invalidate(player);
+            }
+            
             // Check if player has active selection or is waiting for name
             boolean hasActiveSelection = selectionManager.hasActiveSelection(player);
             boolean isWaitingForName = selectionManager.isWaitingForName(player);
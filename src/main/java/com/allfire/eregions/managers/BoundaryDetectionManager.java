@@ -1,17 +1,23 @@
 package com.allfire.eregions.managers;
 
 import com.allfire.eregions.ERegions;
-import com.sk89q.worldedit.bukkit.BukkitAdapter;
-import com.sk89q.worldguard.WorldGuard;
-import com.sk89q.worldguard.protection.managers.RegionManager;
-import com.sk89q.worldguard.protection.regions.ProtectedRegion;
-import com.sk89q.worldguard.protection.regions.RegionContainer;
+import com.allfire.eregions.managers.BoundaryRegionIndex.IndexedRegion;
+import com.allfire.eregions.managers.ConfigManager.BoundaryTrigger;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Boundary Detection Manager
@@ -24,23 +30,45 @@ import java.util.concurrent.ConcurrentHashMap;
 public class BoundaryDetectionManager {
     
     private final ERegions plugin;
-    private final Map<String, Long> permissionCheckCache;
-    private final Map<String, String> lastTriggeredRegion; // Player -> Region mapping
-    private final Map<String, Long> lastTriggerTime; // Player -> Last trigger time
+    private final BoundaryRegionIndex regionIndex;
+    private final Map<UUID, PlayerState> playerStates;
     private final long CACHE_DURATION = 30000; // 30 seconds
+    private final List<UUID> trackedPlayers; // Round-robin order for the scheduled engine
+    private int sweepCursor;
+    private BukkitTask sweepTask;
+    private final Set<UUID> pendingEvaluations; // Players with evaluation running off the main thread
+    private ExecutorService evaluationExecutor;
     
     public BoundaryDetectionManager(ERegions plugin) {
         this.plugin = plugin;
-        this.permissionCheckCache = new ConcurrentHashMap<>();
-        this.lastTriggeredRegion = new ConcurrentHashMap<>();
-        this.lastTriggerTime = new ConcurrentHashMap<>();
+        this.regionIndex = new BoundaryRegionIndex(plugin);
+        plugin.getRegionChangeManager().addListener(regionIndex);
+        this.playerStates = new ConcurrentHashMap<>();
+        this.trackedPlayers = new ArrayList<>();
+        this.sweepCursor = 0;
+        this.pendingEvaluations = ConcurrentHashMap.newKeySet();
     }
     
     /**
      * Initialize boundary detection
+     * Starts the sweep task when the scheduled engine is selected
      */
     public void initialize() {
-        // Implementation for boundary detection
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            startTracking(player);
+        }
+        
+        if (plugin.getConfigManager().getBoundaryEngine() == Engine.SCHEDULED) {
+            sweepTask = Bukkit.getScheduler().runTaskTimer(plugin, this::sweep, 1L, 1L);
+            if (plugin.getConfigManager().isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] BoundaryDetectionManager: scheduled engine started");
+            }
+        }
     }
     
     /**
@@ -49,7 +77,11 @@ public class BoundaryDetectionManager {
      * @param player Player to track
      */
     public void startTracking(Player player) {
-        // Implementation for player tracking
+        UUID playerId = player.getUniqueId();
+        playerStates.putIfAbsent(playerId, new PlayerState());
+        if (!trackedPlayers.contains(playerId)) {
+            trackedPlayers.add(playerId);
+        }
     }
     
     /**
@@ -58,112 +90,301 @@ public class BoundaryDetectionManager {
      * @param player Player to stop tracking
      */
     public void stopTracking(Player player) {
-        // Implementation for stopping player tracking
+        playerStates.remove(player.getUniqueId());
+        
+        int index = trackedPlayers.indexOf(player.getUniqueId());
+        if (index < 0) {
+            return;
+        }
+        
+        trackedPlayers.remove(index);
+        if (index < sweepCursor) {
+            sweepCursor--;
+        }
+    }
+    
+    /**
+     * Check if player moved away from the last evaluated position
+     * 
+     * @param player Player
+     * @param positionKey Packed block or chunk position
+     * @return True if position differs from the last evaluated one
+     */
+    public boolean hasMoved(Player player, long positionKey) {
+        PlayerState state = playerStates.get(player.getUniqueId());
+        return state == null || state.lastPositionKey != positionKey;
+    }
+    
+    /**
+     * Forget last recorded position, e.g. after world change
+     * 
+     * @param player Player
+     */
+    public void resetPosition(Player player) {
+        PlayerState state = playerStates.get(player.getUniqueId());
+        if (state != null) {
+            state.lastPositionKey = PlayerState.NO_POSITION;
+        }
+    }
+    
+    /**
+     * Check next slice of tracked players
+     * Bounded by players-per-tick and max-regions-per-tick, whichever is hit first
+     */
+    private void sweep() {
+        if (!plugin.getConfigManager().isBoundaryDetectionEnabled() || trackedPlayers.isEmpty()) {
+            return;
+        }
+        
+        int playerBudget = Math.min(plugin.getConfigManager().getPlayersPerTick(), trackedPlayers.size());
+        int regionBudget = plugin.getConfigManager().getMaxRegionsPerTick();
+        int processed = 0;
+        int evaluated = 0;
+        
+        while (processed < playerBudget && evaluated < regionBudget) {
+            if (sweepCursor >= trackedPlayers.size()) {
+                sweepCursor = 0;
+            }
+            
+            Player player = Bukkit.getPlayer(trackedPlayers.get(sweepCursor++));
+            processed++;
+            if (player != null) {
+                evaluated += checkBoundary(player);
+            }
+        }
     }
     
     /**
      * Check if player is near region boundary
      * 
      * @param player Player to check
+     * @return Number of candidate regions evaluated
      */
-    public void checkBoundary(Player player) {
+    public int checkBoundary(Player player) {
+        return checkBoundary(player, PlayerState.NO_POSITION);
+    }
+    
+    /**
+     * Check if player is near region boundary
+     * Position is recorded as evaluated only once the check gets past the permission gate
+     * 
+     * @param player Player to check
+     * @param positionKey Packed block or chunk position, recorded for hasMoved
+     * @return Number of candidate regions evaluated
+     */
+    public int checkBoundary(Player player, long positionKey) {
         try {
+            PlayerState state = getState(player);
+            long currentTime = System.currentTimeMillis();
+            
             // Check if player has view permission (without operator bypass)
-            if (!player.hasPermission("eregions.region.view")) {
-                return;
+            if (!hasViewPermission(player, state, currentTime)) {
+                return 0;
             }
             
             Location playerLocation = player.getLocation();
             
             // Get distance and cooldown from boundary-triggers config
-            Map<String, Object> boundaryTrigger = plugin.getConfigManager().getBoundaryTrigger("boundary-enter");
-            double detectionDistance = 5.0; // Default distance
-            double cooldownSeconds = 3.0; // Default cooldown
+            BoundaryTrigger boundaryTrigger = plugin.getConfigManager().getBoundaryTrigger("boundary-enter");
+            double detectionDistance = boundaryTrigger != null ? boundaryTrigger.getDistance() : BoundaryTrigger.DEFAULT_DISTANCE;
+            long cooldownMillis = boundaryTrigger != null ? boundaryTrigger.getCooldownMillis() : (long) (BoundaryTrigger.DEFAULT_COOLDOWN * 1000);
             
-            if (boundaryTrigger != null) {
-                if (boundaryTrigger.containsKey("distance")) {
-                    detectionDistance = ((Number) boundaryTrigger.get("distance")).doubleValue();
-                }
-                if (boundaryTrigger.containsKey("cooldown")) {
-                    cooldownSeconds = ((Number) boundaryTrigger.get("cooldown")).doubleValue();
-                }
+            // Only regions with regionborder-view=ALLOW near the player's chunk
+            regionIndex.setInflation(detectionDistance);
+            IndexedRegion[] candidates = regionIndex.getCandidates(player.getWorld(), playerLocation.getX(), playerLocation.getZ());
+            if (positionKey != PlayerState.NO_POSITION) {
+                state.lastPositionKey = positionKey;
             }
             
-            // Check cooldown
-            String playerName = player.getName();
-            long currentTime = System.currentTimeMillis();
-            Long lastTrigger = lastTriggerTime.get(playerName);
-            if (lastTrigger != null && (currentTime - lastTrigger) < (cooldownSeconds * 1000)) {
-                return; // Still in cooldown
+            if (candidates.length > 0 && plugin.getConfigManager().isAsyncOperationsEnabled()) {
+                // Candidates and bounds are immutable, only the snapshot leaves the main thread
+                evaluateAsync(player.getUniqueId(), state, player.getWorld().getUID(),
+                    playerLocation.getX(), playerLocation.getY(), playerLocation.getZ(),
+                    candidates, detectionDistance, cooldownMillis);
+            } else {
+                String regionId = findNearestRegion(playerLocation.getX(), playerLocation.getY(), playerLocation.getZ(),
+                    candidates, detectionDistance);
+                applyResult(player, state, regionId, cooldownMillis);
             }
             
-            // Get all regions in the world
-            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-            RegionManager regions = container.get(BukkitAdapter.adapt(player.getWorld()));
-            if (regions == null) {
-                return;
-            }
+            return candidates.length;
             
-            // Check each region
-            for (ProtectedRegion region : regions.getRegions().values()) {
-                // Check if region has regionborder-view flag enabled
-                var flagState = region.getFlag(plugin.getRegionBorderViewFlag());
-                if (flagState == null || !flagState.equals(com.sk89q.worldguard.protection.flags.StateFlag.State.ALLOW)) {
-                    continue; // Skip regions without the flag
+        } catch (Exception e) {
+            plugin.getLogger().severe("Ошибка при проверке границ для игрока " + player.getName() + ": " + e.getMessage());
+            return 0;
+        }
+    }
+    
+    /**
+     * Evaluate position snapshot on worker thread and apply result on the main thread
+     * At most one evaluation per player is in flight, a position skipped meanwhile
+     * is checked again from the current location once the running one is applied
+     */
+    private void evaluateAsync(UUID playerId, PlayerState state, UUID worldId, double x, double y, double z,
+                               IndexedRegion[] candidates, double detectionDistance, long cooldownMillis) {
+        if (!pendingEvaluations.add(playerId)) {
+            // Don't lose this position: re-check after the running evaluation,
+            // and let the next move event check again as well
+            state.recheck = true;
+            state.lastPositionKey = PlayerState.NO_POSITION;
+            return;
+        }
+        
+        try {
+            getEvaluationExecutor().execute(() -> {
+                String regionId = null;
+                try {
+                    regionId = findNearestRegion(x, y, z, candidates, detectionDistance);
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Ошибка при расчете расстояния до региона: " + e.getMessage());
                 }
                 
-                // Check if player is within detection distance of region boundary
-                String regionId = region.getId();
-                if (isPlayerNearRegionBoundary(playerLocation, region, detectionDistance)) {
-                    // Check if we already triggered for this region recently
-                    String lastRegion = lastTriggeredRegion.get(playerName);
-                    if (!regionId.equals(lastRegion)) {
-                        // Trigger boundary enter command
-                        plugin.getCommandTriggerManager().executeTrigger("boundary-enter", player, regionId);
-                        lastTriggeredRegion.put(playerName, regionId);
-                        lastTriggerTime.put(playerName, currentTime);
-                    }
-                    break; // Only trigger for the closest region
-                } else {
-                    // Player moved away from region, clear the cache
-                    if (regionId.equals(lastTriggeredRegion.get(playerName))) {
-                        lastTriggeredRegion.remove(playerName);
-                    }
+                String result = regionId;
+                try {
+                    Bukkit.getScheduler().runTask(plugin, () -> {
+                        pendingEvaluations.remove(playerId);
+                        Player player = Bukkit.getPlayer(playerId);
+                        PlayerState current = playerStates.get(playerId);
+                        if (player == null || current == null) {
+                            return;
+                        }
+                        
+                        // Snapshot of another world is stale, regions with the same id may differ
+                        if (player.getWorld().getUID().equals(worldId)) {
+                            applyResult(player, current, result, cooldownMillis);
+                        } else {
+                            current.recheck = true;
+                        }
+                        
+                        if (current.recheck) {
+                            current.recheck = false;
+                            checkBoundary(player);
+                        }
+                    });
+                } catch (IllegalStateException | IllegalArgumentException e) {
+                    // Plugin is being disabled
+                    pendingEvaluations.remove(playerId);
                 }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingEvaluations.remove(playerId);
+        }
+    }
+    
+    /**
+     * Apply evaluation result: trigger boundary-enter / boundary-exit on transitions
+     * The cooldown only holds back boundary-enter, boundary-exit is always sent
+     * Must be called on the main thread
+     * 
+     * @param player Player
+     * @param state Player state
+     * @param regionId Nearest region in detection distance or null
+     * @param cooldownMillis Cooldown after boundary-enter
+     */
+    private void applyResult(Player player, PlayerState state, String regionId, long cooldownMillis) {
+        String previousRegion = state.lastRegion;
+        if (regionId == null) {
+            // Player moved away from all regions
+            if (previousRegion != null) {
+                state.lastRegion = null;
+                fireTrigger("boundary-exit", player, previousRegion);
+            }
+            return;
+        }
+        
+        // Check if we already triggered for this region recently
+        if (!regionId.equals(previousRegion)) {
+            // Nearest region changed, leave the old band before entering the new one
+            if (previousRegion != null) {
+                fireTrigger("boundary-exit", player, previousRegion);
             }
             
-        } catch (Exception e) {
-            plugin.getLogger().severe("Ошибка при проверке границ для игрока " + player.getName() + ": " + e.getMessage());
+            long currentTime = System.currentTimeMillis();
+            if (currentTime < state.cooldownDeadline) {
+                // Still in cooldown, enter is sent by a later check
+                state.lastRegion = null;
+                return;
+            }
+            fireTrigger("boundary-enter", player, regionId);
+            state.lastRegion = regionId;
+            state.cooldownDeadline = currentTime + cooldownMillis;
         }
     }
     
     /**
-     * Check if player is near region boundary
+     * Check eregions.region.view, cached for CACHE_DURATION
+     */
+    private boolean hasViewPermission(Player player, PlayerState state, long currentTime) {
+        if (currentTime >= state.permissionExpiry) {
+            state.canView = player.hasPermission("eregions.region.view");
+            state.permissionExpiry = currentTime + CACHE_DURATION;
+        }
+        return state.canView;
+    }
+    
+    /**
+     * Get state of player, creating it if player was not tracked yet
+     */
+    private PlayerState getState(Player player) {
+        return playerStates.computeIfAbsent(player.getUniqueId(), id -> new PlayerState());
+    }
+    
+    /**
+     * Execute boundary trigger if it is enabled in config
+     */
+    private void fireTrigger(String triggerName, Player player, String regionId) {
+        BoundaryTrigger trigger = plugin.getConfigManager().getBoundaryTrigger(triggerName);
+        if (trigger != null && !trigger.isEnabled()) {
+            return;
+        }
+        plugin.getCommandTriggerManager().executeTrigger(triggerName, player, regionId);
+    }
+    
+    /**
+     * Get worker pool for boundary evaluation, creating it on first use
+     */
+    private synchronized ExecutorService getEvaluationExecutor() {
+        if (evaluationExecutor == null) {
+            int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+            AtomicInteger counter = new AtomicInteger();
+            evaluationExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "eRegions-Boundary-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return evaluationExecutor;
+    }
+    
+    /**
+     * Find region with the nearest boundary within detection distance in a single pass
+     * Equal distances are resolved by region id, so the result does not depend on index order
+     * Pure function of its arguments, safe to call from any thread
      * 
-     * @param playerLocation Player location
-     * @param region Region to check
-     * @param detectionDistance Detection distance in blocks
-     * @return True if player is near boundary
+     * @return Region id or null if none is in range
      */
-    private boolean isPlayerNearRegionBoundary(Location playerLocation, ProtectedRegion region, double detectionDistance) {
-        try {
-            // Get region bounds
-            var min = region.getMinimumPoint();
-            var max = region.getMaximumPoint();
-            
+    private String findNearestRegion(double x, double y, double z, IndexedRegion[] candidates, double detectionDistance) {
+        String nearestId = null;
+        double nearestDistance = Double.MAX_VALUE;
+        
+        for (IndexedRegion region : candidates) {
             // Calculate distance to region boundary
             double distanceToRegion = calculateDistanceToRegion(
-                playerLocation.getX(), playerLocation.getY(), playerLocation.getZ(),
-                min.x(), min.y(), min.z(),
-                max.x(), max.y(), max.z()
+                x, y, z,
+                region.getMinX(), region.getMinY(), region.getMinZ(),
+                region.getMaxX(), region.getMaxY(), region.getMaxZ()
             );
+            if (distanceToRegion > detectionDistance) {
+                continue;
+            }
             
-            return distanceToRegion <= detectionDistance;
-            
-        } catch (Exception e) {
-            plugin.getLogger().warning("Ошибка при расчете расстояния до региона: " + e.getMessage());
-            return false;
+            if (distanceToRegion < nearestDistance
+                    || (distanceToRegion == nearestDistance && region.getId().compareTo(nearestId) < 0)) {
+                nearestId = region.getId();
+                nearestDistance = distanceToRegion;
+            }
         }
+        return nearestId;
     }
     
     /**
@@ -201,10 +422,70 @@ public class BoundaryDetectionManager {
     }
     
     
+    /**
+     * Boundary detection state of a single player
+     * Only accessed from the main thread
+     */
+    private static class PlayerState {
+        // Marker for players without evaluated position
+        private static final long NO_POSITION = Long.MIN_VALUE;
+        
+        private long lastPositionKey = NO_POSITION;
+        private String lastRegion;
+        private boolean recheck; // Position changed while an evaluation was in flight
+        private long cooldownDeadline;
+        private boolean canView;
+        private long permissionExpiry;
+    }
+    
+    /**
+     * How boundary checks are driven
+     */
+    public enum Engine {
+        // Checks run from PlayerMoveEvent
+        EVENT,
+        // Repeating task sweeps online players in slices
+        SCHEDULED
+    }
+    
+    /**
+     * When a player movement triggers a boundary check
+     */
+    public enum CheckMode {
+        // Player entered another block
+        BLOCK,
+        // Player entered another chunk
+        CHUNK,
+        // Once per second of player ticks (legacy behaviour)
+        INTERVAL
+    }
+    
+    /**
+     * Get border-view region index
+     * 
+     * @return Region index
+     */
+    public BoundaryRegionIndex getRegionIndex() {
+        return regionIndex;
+    }
+    
     /**
      * Cleanup resources
      */
     public void cleanup() {
-        // Implementation for cleanup
+        if (sweepTask != null) {
+            sweepTask.cancel();
+            sweepTask = null;
+        }
+        trackedPlayers.clear();
+        playerStates.clear();
+        synchronized (this) {
+            if (evaluationExecutor != null) {
+                evaluationExecutor.shutdownNow();
+                evaluationExecutor = null;
+            }
+        }
+        pendingEvaluations.clear();
+        regionIndex.clear();
     }
 }
@@ -0,0 +1,386 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.flags.StateFlag;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import com.sk89q.worldguard.protection.regions.RegionType;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Boundary Region Index
+ *
+ * Per-world chunk grid of regions with regionborder-view=ALLOW
+ * Region bounds are inflated by the detection distance, so a lookup
+ * only has to look at the bucket of the player's chunk
+ * Kept up to date in place through region change notifications
+ *
+ * @author AllF1RE
+ */
+public class BoundaryRegionIndex implements RegionChangeManager.RegionChangeListener {
+
+    // Regions covering more chunks than this are kept in a separate list
+    // instead of being copied into every bucket they touch
+    private static final int MAX_CHUNKS_PER_REGION = 4096;
+    private static final IndexedRegion[] EMPTY = new IndexedRegion[0];
+
+    private final ERegions plugin;
+    private final Map<UUID, WorldIndex> worlds;
+    private volatile double inflation;
+
+    public BoundaryRegionIndex(ERegions plugin) {
+        this.plugin = plugin;
+        this.worlds = new ConcurrentHashMap<>();
+        this.inflation = 0.0;
+    }
+
+    /**
+     * Set distance the region bounds are inflated by
+     * Drops all built worlds if the distance changed, they are rebuilt lazily
+     *
+     * @param distance Detection distance in blocks
+     */
+    public void setInflation(double distance) {
+        if (distance != inflation) {
+            inflation = distance;
+            worlds.clear();
+        }
+    }
+
+    /**
+     * Get current inflation distance
+     *
+     * @return Distance in blocks
+     */
+    public double getInflation() {
+        return inflation;
+    }
+
+    /**
+     * Get candidate regions near a position
+     *
+     * @param world World
+     * @param x Block X (may be fractional)
+     * @param z Block Z (may be fractional)
+     * @return Regions whose inflated bounds cover the chunk of the position
+     */
+    public IndexedRegion[] getCandidates(World world, double x, double z) {
+        WorldIndex index = getWorldIndex(world);
+        if (index == null) {
+            return EMPTY;
+        }
+
+        int chunkX = ((int) Math.floor(x)) >> 4;
+        int chunkZ = ((int) Math.floor(z)) >> 4;
+        IndexedRegion[] bucket = index.buckets.getOrDefault(chunkKey(chunkX, chunkZ), EMPTY);
+        IndexedRegion[] oversized = index.oversized;
+
+        if (oversized.length == 0) {
+            return bucket;
+        }
+        if (bucket.length == 0) {
+            return oversized;
+        }
+
+        IndexedRegion[] result = new IndexedRegion[bucket.length + oversized.length];
+        System.arraycopy(bucket, 0, result, 0, bucket.length);
+        System.arraycopy(oversized, 0, result, bucket.length, oversized.length);
+        return result;
+    }
+
+    /**
+     * Rebuild index for world from WorldGuard
+     *
+     * @param world World to rebuild
+     */
+    public void rebuild(World world) {
+        WorldIndex index = buildWorldIndex(world);
+        if (index != null) {
+            worlds.put(world.getUID(), index);
+        } else {
+            worlds.remove(world.getUID());
+        }
+    }
+
+    /**
+     * Drop all indexed worlds
+     */
+    public void clear() {
+        worlds.clear();
+    }
+
+    /**
+     * Patch index after region was created, removed or changed
+     * Worlds that were not built yet are skipped, they are built on first lookup
+     *
+     * @param world World of the region
+     * @param regionId Region id
+     * @param region Current region or null if it was removed
+     */
+    @Override
+    public void onRegionChanged(World world, String regionId, ProtectedRegion region) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null) {
+            return;
+        }
+
+        synchronized (index) {
+            IndexedRegion previous = index.regions.remove(regionId);
+            if (previous != null) {
+                removeFromBuckets(index, previous);
+            }
+
+            IndexedRegion indexed = region != null ? createIndexedRegion(region) : null;
+            if (indexed != null) {
+                index.regions.put(indexed.getId(), indexed);
+                addToBuckets(index, indexed);
+            }
+        }
+
+        if (plugin.getConfigManager().isDebugMode()) {
+            plugin.getLogger().info("[DEBUG] BoundaryRegionIndex: region " + regionId + " updated in world " + world.getName());
+        }
+    }
+
+    /**
+     * Add region to all buckets it covers
+     * Buckets are replaced, never modified, so lookups can run concurrently
+     */
+    private void addToBuckets(WorldIndex index, IndexedRegion indexed) {
+        double distance = index.distance;
+        if (indexed.getChunkCount(distance) > MAX_CHUNKS_PER_REGION) {
+            index.oversized = append(index.oversized, indexed);
+            return;
+        }
+
+        for (int cx = indexed.getMinChunkX(distance); cx <= indexed.getMaxChunkX(distance); cx++) {
+            for (int cz = indexed.getMinChunkZ(distance); cz <= indexed.getMaxChunkZ(distance); cz++) {
+                index.buckets.merge(chunkKey(cx, cz), new IndexedRegion[] {indexed}, (bucket, added) -> append(bucket, indexed));
+            }
+        }
+    }
+
+    /**
+     * Remove region from all buckets it covers
+     */
+    private void removeFromBuckets(WorldIndex index, IndexedRegion indexed) {
+        double distance = index.distance;
+        if (indexed.getChunkCount(distance) > MAX_CHUNKS_PER_REGION) {
+            index.oversized = without(index.oversized, indexed);
+            return;
+        }
+
+        for (int cx = indexed.getMinChunkX(distance); cx <= indexed.getMaxChunkX(distance); cx++) {
+            for (int cz = indexed.getMinChunkZ(distance); cz <= indexed.getMaxChunkZ(distance); cz++) {
+                index.buckets.computeIfPresent(chunkKey(cx, cz), (key, bucket) -> {
+                    IndexedRegion[] remaining = without(bucket, indexed);
+                    return remaining.length == 0 ? null : remaining;
+                });
+            }
+        }
+    }
+
+    private static IndexedRegion[] append(IndexedRegion[] bucket, IndexedRegion indexed) {
+        IndexedRegion[] result = Arrays.copyOf(bucket, bucket.length + 1);
+        result[bucket.length] = indexed;
+        return result;
+    }
+
+    private static IndexedRegion[] without(IndexedRegion[] bucket, IndexedRegion indexed) {
+        List<IndexedRegion> remaining = new ArrayList<>(bucket.length);
+        for (IndexedRegion entry : bucket) {
+            if (entry != indexed) {
+                remaining.add(entry);
+            }
+        }
+        return remaining.toArray(EMPTY);
+    }
+
+    /**
+     * Get world index, building it on first access
+     */
+    private WorldIndex getWorldIndex(World world) {
+        WorldIndex index = worlds.get(world.getUID());
+        if (index == null) {
+            index = buildWorldIndex(world);
+            if (index != null) {
+                worlds.put(world.getUID(), index);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Build world index from all regions of the world
+     */
+    private WorldIndex buildWorldIndex(World world) {
+        try {
+            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+            RegionManager regions = container.get(BukkitAdapter.adapt(world));
+            if (regions == null) {
+                return null;
+            }
+
+            double distance = inflation;
+            Map<Long, List<IndexedRegion>> buckets = new HashMap<>();
+            List<IndexedRegion> oversized = new ArrayList<>();
+            WorldIndex index = new WorldIndex(distance);
+
+            for (ProtectedRegion region : regions.getRegions().values()) {
+                IndexedRegion indexed = createIndexedRegion(region);
+                if (indexed == null) {
+                    continue;
+                }
+
+                index.regions.put(indexed.getId(), indexed);
+                if (indexed.getChunkCount(distance) > MAX_CHUNKS_PER_REGION) {
+                    oversized.add(indexed);
+                    continue;
+                }
+
+                for (int cx = indexed.getMinChunkX(distance); cx <= indexed.getMaxChunkX(distance); cx++) {
+                    for (int cz = indexed.getMinChunkZ(distance); cz <= indexed.getMaxChunkZ(distance); cz++) {
+                        buckets.computeIfAbsent(chunkKey(cx, cz), key -> new ArrayList<>(2)).add(indexed);
+                    }
+                }
+            }
+
+            for (Map.Entry<Long, List<IndexedRegion>> entry : buckets.entrySet()) {
+                index.buckets.put(entry.getKey(), entry.getValue().toArray(EMPTY));
+            }
+            index.oversized = oversized.toArray(EMPTY);
+
+            if (plugin.getConfigManager().isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] BoundaryRegionIndex: built index for world " + world.getName()
+                    + " (" + index.buckets.size() + " chunks, " + index.oversized.length + " oversized regions)");
+            }
+            return index;
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("Ошибка при построении индекса границ для мира " + world.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Create indexed entry for region if it has regionborder-view=ALLOW
+     *
+     * @param region WorldGuard region
+     * @return Indexed region or null if region should not be indexed
+     */
+    private IndexedRegion createIndexedRegion(ProtectedRegion region) {
+        if (region.getType() == RegionType.GLOBAL) {
+            return null;
+        }
+
+        StateFlag.State state = region.getFlag(plugin.getRegionBorderViewFlag());
+        if (state != StateFlag.State.ALLOW) {
+            return null;
+        }
+
+        return new IndexedRegion(region.getId(), region.getMinimumPoint(), region.getMaximumPoint());
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Index data of a single world
+     */
+    private static class WorldIndex {
+        private final double distance;
+        private final Map<String, IndexedRegion> regions = new HashMap<>();
+        private final Map<Long, IndexedRegion[]> buckets = new ConcurrentHashMap<>();
+        private volatile IndexedRegion[] oversized = EMPTY;
+
+        private WorldIndex(double distance) {
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Immutable region bounds stored in the index
+     */
+    public static final class IndexedRegion {
+        private final String id;
+        private final double minX;
+        private final double minY;
+        private final double minZ;
+        private final double maxX;
+        private final double maxY;
+        private final double maxZ;
+
+        public IndexedRegion(String id, BlockVector3 min, BlockVector3 max) {
+            this.id = id;
+            this.minX = min.x();
+            this.minY = min.y();
+            this.minZ = min.z();
+            this.maxX = max.x();
+            this.maxY = max.y();
+            this.maxZ = max.z();
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public double getMinX() {
+            return minX;
+        }
+
+        public double getMinY() {
+            return minY;
+        }
+
+        public double getMinZ() {
+            return minZ;
+        }
+
+        public double getMaxX() {
+            return maxX;
+        }
+
+        public double getMaxY() {
+            return maxY;
+        }
+
+        public double getMaxZ() {
+            return maxZ;
+        }
+
+        int getMinChunkX(double distance) {
+            return ((int) Math.floor(minX - distance)) >> 4;
+        }
+
+        int getMaxChunkX(double distance) {
+            return ((int) Math.floor(maxX + 1 + distance)) >> 4;
+        }
+
+        int getMinChunkZ(double distance) {
+            return ((int) Math.floor(minZ - distance)) >> 4;
+        }
+
+        int getMaxChunkZ(double distance) {
+            return ((int) Math.floor(maxZ + 1 + distance)) >> 4;
+        }
+
+        long getChunkCount(double distance) {
+            long width = (long) getMaxChunkX(distance) - getMinChunkX(distance) + 1;
+            long length = (long) getMaxChunkZ(distance) - getMinChunkZ(distance) + 1;
+            return width * length;
+        }
+    }
+}
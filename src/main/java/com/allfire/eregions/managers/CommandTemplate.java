@@ -0,0 +1,428 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command Template
+ *
+ * Trigger command line compiled once at config load
+ * The action prefix is resolved to an ActionType, the rest is split into
+ * literal segments and placeholder slots rendered in a single pass
+ * Other "name! ..." prefixes are native actions resolved in TriggerActionRegistry,
+ * with their arguments parsed here when the line has no placeholders
+ * Console "say" and player "msg" commands are compiled to the built-in say! and msg! actions
+ *
+ * @author AllF1RE
+ */
+public final class CommandTemplate {
+
+    private final String source;
+    private final String prefix; // Part of source before the body
+    private final ActionType action; // Null if the line starts with a placeholder, resolved after rendering
+    private final String actionName; // Name of native action
+    private final TriggerActionRegistry.TriggerAction nativeAction; // Null if not registered when compiled
+    private final TriggerActionRegistry.PreparedAction prepared; // Native action with parsed static arguments
+    private final String[] literals; // One more than slots
+    private final Placeholder[] slots;
+
+    private CommandTemplate(String source, String prefix, ActionType action, String actionName,
+                            TriggerActionRegistry.TriggerAction nativeAction, TriggerActionRegistry.PreparedAction prepared,
+                            String[] literals, Placeholder[] slots) {
+        this.source = source;
+        this.prefix = prefix;
+        this.action = action;
+        this.actionName = actionName;
+        this.nativeAction = nativeAction;
+        this.prepared = prepared;
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * Compile trigger command lines, blank and rejected lines are skipped
+     *
+     * @param plugin Plugin instance
+     * @param lines Configured command lines
+     * @return Immutable list of templates
+     */
+    public static List<CommandTemplate> compileAll(ERegions plugin, List<String> lines) {
+        if (lines == null || lines.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<CommandTemplate> templates = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line != null && !line.trim().isEmpty()) {
+                CommandTemplate template = compile(plugin, line);
+                if (template != null) {
+                    templates.add(template);
+                }
+            }
+        }
+        return List.copyOf(templates);
+    }
+
+    /**
+     * Compile single command line
+     * Native actions are resolved in the registry of the plugin, unknown names
+     * and invalid static arguments are reported as config warnings
+     *
+     * @param plugin Plugin instance
+     * @param line Command line with optional action prefix
+     * @return Template or null if arguments of a native action are invalid
+     */
+    public static CommandTemplate compile(ERegions plugin, String line) {
+        TriggerActionRegistry registry = plugin.getTriggerActionRegistry();
+        ActionType action = ActionType.match(line);
+        String actionName = null;
+        String body = line;
+        if (action != null) {
+            body = line.substring(action.prefix.length());
+
+            // Console say and player msg are served by built-in actions without dispatch
+            String command = action == ActionType.AS_CONSOLE ? "say" : action == ActionType.AS_PLAYER ? "msg" : null;
+            int end = command != null ? commandEnd(body, command) : -1;
+            if (end >= 0 && registry.get(command) != null) {
+                action = ActionType.NATIVE;
+                actionName = command;
+                body = body.substring(end);
+            }
+        } else if ((actionName = nativeActionName(line)) != null) {
+            action = ActionType.NATIVE;
+            body = line.substring(actionName.length() + 1);
+        } else if (Placeholder.at(line, 0) == null) {
+            action = ActionType.CONSOLE;
+        }
+
+        List<String> literals = new ArrayList<>();
+        List<Placeholder> slots = new ArrayList<>();
+        int start = 0;
+        int open = body.indexOf('{');
+        while (open >= 0) {
+            Placeholder placeholder = Placeholder.at(body, open);
+            if (placeholder == null) {
+                open = body.indexOf('{', open + 1);
+                continue;
+            }
+            literals.add(body.substring(start, open));
+            slots.add(placeholder);
+            start = open + placeholder.token.length();
+            open = body.indexOf('{', start);
+        }
+        literals.add(body.substring(start));
+
+        TriggerActionRegistry.TriggerAction nativeAction = null;
+        TriggerActionRegistry.PreparedAction prepared = null;
+        if (action == ActionType.NATIVE) {
+            nativeAction = registry.get(actionName);
+            if (nativeAction == null) {
+                plugin.getLogger().warning("Неизвестное действие триггера '" + actionName + "!' в строке: " + line
+                    + " (если его не зарегистрирует другой плагин, строка будет выполнена как консольная команда)");
+            } else if (slots.isEmpty()) {
+                try {
+                    prepared = nativeAction.prepare(literals.get(0).trim());
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Неверные аргументы действия '" + actionName + "!' в строке: " + line
+                        + " - " + e.getMessage() + ", строка пропущена");
+                    return null;
+                }
+            }
+        }
+
+        return new CommandTemplate(line, line.substring(0, line.length() - body.length()), action, actionName,
+            nativeAction, prepared, literals.toArray(new String[0]), slots.toArray(new Placeholder[0]));
+    }
+
+    /**
+     * Find end of command name at the start of body, after optional whitespace and slash
+     *
+     * @return Index after the name or -1 if body does not start with the command and its arguments
+     */
+    private static int commandEnd(String body, String command) {
+        int start = 0;
+        while (start < body.length() && Character.isWhitespace(body.charAt(start))) {
+            start++;
+        }
+        if (body.startsWith("/", start)) {
+            start++;
+        }
+
+        int end = start + command.length();
+        if (end >= body.length() || !body.regionMatches(true, start, command, 0, command.length())
+                || !Character.isWhitespace(body.charAt(end))) {
+            return -1;
+        }
+        return end;
+    }
+
+    /**
+     * Get name of native action the line starts with ("name! ...")
+     *
+     * @return Name or null if line has no such prefix
+     */
+    private static String nativeActionName(String line) {
+        int mark = line.indexOf('!');
+        if (mark <= 0 || (mark + 1 < line.length() && !Character.isWhitespace(line.charAt(mark + 1)))) {
+            return null;
+        }
+        String name = line.substring(0, mark);
+        return TriggerActionRegistry.isValidName(name) ? name : null;
+    }
+
+    /**
+     * Render template against trigger context
+     * Placeholders without value keep their literal token
+     *
+     * @param context Trigger context
+     * @return Rendered command, or null if nothing is left to execute
+     */
+    public RenderedCommand render(TriggerContext context) {
+        StringBuilder builder = new StringBuilder(source.length() + 32);
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = context.get(slots[i]);
+            builder.append(value != null ? value : slots[i].token);
+            builder.append(literals[i + 1]);
+        }
+
+        ActionType resolved = action;
+        String resolvedName = actionName;
+        String body = builder.toString();
+        String text = prefix + body;
+        if (resolved == null) {
+            resolved = ActionType.match(body);
+            if (resolved != null) {
+                body = body.substring(resolved.prefix.length());
+            } else if ((resolvedName = nativeActionName(body)) != null) {
+                resolved = ActionType.NATIVE;
+                body = body.substring(resolvedName.length() + 1);
+            } else {
+                resolved = ActionType.CONSOLE;
+            }
+        }
+
+        if (body.trim().isEmpty()) {
+            return null;
+        }
+        if (resolved.trim) {
+            body = body.trim();
+        }
+        if (resolved.command && body.startsWith("/")) {
+            body = body.substring(1);
+        }
+        return new RenderedCommand(resolved, resolvedName, body, text, nativeAction, prepared);
+    }
+
+    /**
+     * Get configured line this template was compiled from
+     *
+     * @return Source line
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Action prefixes, matched in this order
+     */
+    public enum ActionType {
+        AS_PLAYER("asPlayer!", true, true),
+        AS_CONSOLE("asConsole!", true, true),
+        CHAT("chat! ", true, false),
+        ACTIONBAR("actionbar! ", true, false),
+        TITLE("title! ", true, false),
+        SUBTITLE("subtitle! ", true, false),
+        NATIVE("", true, false), // Registered "name!" action
+        CONSOLE("", false, true); // No prefix, dispatched as console command
+
+        private final String prefix;
+        private final boolean trim;
+        private final boolean command; // Leading slash is dropped
+
+        ActionType(String prefix, boolean trim, boolean command) {
+            this.prefix = prefix;
+            this.trim = trim;
+            this.command = command;
+        }
+
+        /**
+         * Find action by prefix of line
+         *
+         * @return Action or null if line has no known prefix
+         */
+        private static ActionType match(String line) {
+            for (ActionType type : values()) {
+                if (!type.prefix.isEmpty() && line.startsWith(type.prefix)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Placeholders supported in trigger commands
+     */
+    public enum Placeholder {
+        PLAYER_NAME("{player_name}"),
+        PLAYER_DISPLAYNAME("{player_displayname}"),
+        PLAYER_WORLD("{player_world}"),
+        PLAYER_X("{player_x}"),
+        PLAYER_Y("{player_y}"),
+        PLAYER_Z("{player_z}"),
+        REGION_NAME("{region_name}"),
+        TARGET_PLAYER("{target_player}"),
+        FLAG_NAME("{flag_name}"),
+        SIZE("{size}"),
+        REGION_FLAG("{region_flag}"),
+        STATE_FLAG("{state_flag}"),
+        POINT_1("{point_1}"),
+        POINT_2("{point_2}");
+
+        private static final Map<String, Placeholder> BY_TOKEN = new HashMap<>();
+
+        static {
+            for (Placeholder placeholder : values()) {
+                BY_TOKEN.put(placeholder.token, placeholder);
+            }
+        }
+
+        private final String token;
+
+        Placeholder(String token) {
+            this.token = token;
+        }
+
+        /**
+         * Get placeholder whose token starts at position
+         */
+        private static Placeholder at(String text, int position) {
+            if (position >= text.length() || text.charAt(position) != '{') {
+                return null;
+            }
+            int close = text.indexOf('}', position);
+            return close < 0 ? null : BY_TOKEN.get(text.substring(position, close + 1));
+        }
+    }
+
+    /**
+     * Values of a single trigger execution
+     * Player data is read once when the trigger fires
+     */
+    public static final class TriggerContext {
+        private final String[] values;
+
+        public TriggerContext(Player player, String regionName, String targetPlayer, String flagName, String size,
+                              String regionFlag, String stateFlag, String point1, String point2) {
+            Location location = player.getLocation();
+            this.values = new String[Placeholder.values().length];
+            values[Placeholder.PLAYER_NAME.ordinal()] = player.getName();
+            values[Placeholder.PLAYER_DISPLAYNAME.ordinal()] = player.getDisplayName();
+            values[Placeholder.PLAYER_WORLD.ordinal()] = location.getWorld() != null
+                ? location.getWorld().getName() : player.getWorld().getName();
+            values[Placeholder.PLAYER_X.ordinal()] = String.valueOf(location.getBlockX());
+            values[Placeholder.PLAYER_Y.ordinal()] = String.valueOf(location.getBlockY());
+            values[Placeholder.PLAYER_Z.ordinal()] = String.valueOf(location.getBlockZ());
+            values[Placeholder.REGION_NAME.ordinal()] = regionName;
+            values[Placeholder.TARGET_PLAYER.ordinal()] = targetPlayer;
+            values[Placeholder.FLAG_NAME.ordinal()] = flagName;
+            values[Placeholder.SIZE.ordinal()] = size;
+            values[Placeholder.REGION_FLAG.ordinal()] = regionFlag;
+            values[Placeholder.STATE_FLAG.ordinal()] = stateFlag;
+            values[Placeholder.POINT_1.ordinal()] = point1;
+            values[Placeholder.POINT_2.ordinal()] = point2;
+        }
+
+        private String get(Placeholder placeholder) {
+            return values[placeholder.ordinal()];
+        }
+    }
+
+    /**
+     * Rendered command ready for execution
+     */
+    public static final class RenderedCommand {
+        private final ActionType action;
+        private final String actionName;
+        private final String body;
+        private final String text;
+        private final TriggerActionRegistry.TriggerAction nativeAction;
+        private final TriggerActionRegistry.PreparedAction prepared;
+
+        private RenderedCommand(ActionType action, String actionName, String body, String text,
+                                TriggerActionRegistry.TriggerAction nativeAction,
+                                TriggerActionRegistry.PreparedAction prepared) {
+            this.action = action;
+            this.actionName = actionName;
+            this.body = body;
+            this.text = text;
+            this.nativeAction = nativeAction;
+            this.prepared = prepared;
+        }
+
+        public ActionType getAction() {
+            return action;
+        }
+
+        /**
+         * Get name of native action
+         *
+         * @return Name or null if action is not NATIVE
+         */
+        public String getActionName() {
+            return actionName;
+        }
+
+        /**
+         * Get command or message without action prefix
+         *
+         * @return Body
+         */
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * Get whole rendered line, including action prefix
+         *
+         * @return Rendered line
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Get native action resolved when the line was compiled
+         *
+         * @return Action or null if it was not registered then
+         */
+        public TriggerActionRegistry.TriggerAction getNativeAction() {
+            return nativeAction;
+        }
+
+        /**
+         * Get native action with arguments parsed when the line was compiled
+         *
+         * @return Prepared action or null if arguments have placeholders
+         */
+        public TriggerActionRegistry.PreparedAction getPreparedAction() {
+            return prepared;
+        }
+
+        @Override
+        public String toString() {
+            if (action == ActionType.NATIVE) {
+                return text;
+            }
+            return action == ActionType.CONSOLE ? body : action.prefix + body;
+        }
+    }
+}
@@ -3,12 +3,19 @@ package com.allfire.eregions.managers;
 import com.allfire.eregions.ERegions;
 import com.allfire.eregions.utils.MessageUtils;
 import org.bukkit.Bukkit;
-import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 
 /**
@@ -16,23 +23,139 @@ import java.util.logging.Level;
  * 
  * Handles execution of command triggers from configuration
  * Supports different command types: asPlayer, asConsole, with different message types
+ * Commands are queued and drained by a single repeating task,
+ * at most performance.max-actions-per-tick per tick
+ * Repeated firings of a trigger for the same player and region are coalesced
+ * while earlier ones are still queued, see CoalescePolicy
  * 
  * @author AllF1RE
  */
 public class CommandTriggerManager {
     
+    private static final int SVIS_DELAY = 5; // Ticks
+    
     private final ERegions plugin;
     private final MessageUtils messageUtils;
+    private final Queue<PendingAction> submitted; // Filled from any thread
+    private final PriorityQueue<PendingAction> scheduled; // Main thread only, ordered by due tick
+    private final AtomicLong sequence;
+    private final Map<String, Firing> pendingFirings; // Coalescing key -> firing with queued commands
+    private final TriggerActionRegistry actionRegistry;
+    private volatile long currentTick;
+    private BukkitTask drainTask;
     
     public CommandTriggerManager(ERegions plugin) {
         this.plugin = plugin;
         this.messageUtils = plugin.getMessageUtils();
+        this.submitted = new ConcurrentLinkedQueue<>();
+        this.scheduled = new PriorityQueue<>();
+        this.sequence = new AtomicLong();
+        this.pendingFirings = new ConcurrentHashMap<>();
+        this.actionRegistry = plugin.getTriggerActionRegistry();
         
         if (this.messageUtils == null) {
             plugin.getLogger().warning("[DEBUG] MessageUtils is null in CommandTriggerManager constructor!");
         }
     }
     
+    /**
+     * Register native trigger action, used in triggers as "name! arguments"
+     * Actions run on the main thread without any command dispatch
+     * Lines loaded before the action was registered look it up when they run,
+     * their arguments are parsed once after the next config reload
+     * 
+     * @param name Action name without "!", letters, digits, '_' and '-'
+     * @param action Action
+     * @throws IllegalArgumentException if the name is invalid or used by a built-in prefix
+     */
+    public void registerAction(String name, TriggerActionRegistry.TriggerAction action) {
+        actionRegistry.register(name, action);
+    }
+    
+    /**
+     * Remove native trigger action
+     * 
+     * @param name Action name
+     */
+    public void unregisterAction(String name) {
+        actionRegistry.unregister(name);
+    }
+    
+    /**
+     * Start the task draining queued commands
+     */
+    public void start() {
+        if (drainTask == null) {
+            drainTask = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+        }
+    }
+    
+    /**
+     * Stop the drain task and drop queued commands
+     */
+    public void shutdown() {
+        if (drainTask != null) {
+            drainTask.cancel();
+            drainTask = null;
+        }
+        submitted.clear();
+        scheduled.clear();
+        pendingFirings.clear();
+    }
+    
+    /**
+     * Run commands that are due, within the per-tick budget
+     * Commands over budget stay queued for the next tick
+     */
+    private void drain() {
+        currentTick++;
+        collectSubmitted();
+        
+        int budget = plugin.getConfigManager().getMaxActionsPerTick();
+        int executed = 0;
+        PendingAction action;
+        while (executed < budget && (action = scheduled.peek()) != null && action.dueTick <= currentTick) {
+            scheduled.poll();
+            // Replaced by a newer firing, skipping does not use the budget
+            if (action.firing == null || !action.firing.cancelled) {
+                executeCommand(action.command, action.player);
+                executed++;
+            }
+            if (action.firing != null && action.firing.complete()) {
+                pendingFirings.remove(action.firing.key, action.firing);
+            }
+        }
+        
+        if (executed == budget && !scheduled.isEmpty() && plugin.getConfigManager().isDebugMode()) {
+            plugin.getLogger().info("[DEBUG] CommandTriggerManager: tick budget of " + budget + " actions reached, "
+                + scheduled.size() + " queued");
+        }
+    }
+    
+    /**
+     * Move commands queued from other threads into the schedule
+     */
+    private void collectSubmitted() {
+        PendingAction action;
+        while ((action = submitted.poll()) != null) {
+            scheduled.add(action);
+        }
+    }
+    
+    /**
+     * Drop queued commands of player, must be called on the main thread
+     * 
+     * @param player Player who left
+     */
+    public void cancelPending(Player player) {
+        UUID playerId = player.getUniqueId();
+        collectSubmitted();
+        pendingFirings.values().removeIf(firing -> firing.playerId.equals(playerId));
+        if (scheduled.removeIf(action -> action.playerId.equals(playerId)) && plugin.getConfigManager().isDebugMode()) {
+            plugin.getLogger().info("[DEBUG] Cancelled queued commands of player " + player.getName());
+        }
+    }
+    
     /**
      * Execute command trigger
      * 
@@ -113,19 +236,22 @@ public class CommandTriggerManager {
             if (plugin.getConfigManager().isDebugMode()) {
                 plugin.getLogger().info("[DEBUG] Getting command trigger from config...");
             }
-            List<String> commands = null;
+            List<CommandTemplate> commands = null;
+            CoalescePolicy policy = CoalescePolicy.QUEUE;
             
             // Check if it's a boundary trigger first
             if (triggerName.startsWith("boundary-")) {
-                Map<String, Object> boundaryTrigger = plugin.getConfigManager().getBoundaryTrigger(triggerName);
-                if (boundaryTrigger != null && boundaryTrigger.containsKey("commands")) {
-                    commands = (List<String>) boundaryTrigger.get("commands");
+                ConfigManager.BoundaryTrigger boundaryTrigger = plugin.getConfigManager().getBoundaryTrigger(triggerName);
+                if (boundaryTrigger != null) {
+                    commands = boundaryTrigger.getTemplates();
+                    policy = boundaryTrigger.getCoalescePolicy();
                 }
             }
             
             // If not found in boundary triggers, try command triggers
             if (commands == null) {
-                commands = plugin.getConfigManager().getCommandTrigger(triggerName);
+                commands = plugin.getConfigManager().getCommandTemplates(triggerName);
+                policy = plugin.getConfigManager().getCommandTriggerCoalescePolicy(triggerName);
             }
             
             if (commands == null) {
@@ -145,60 +271,57 @@ public class CommandTriggerManager {
             if (plugin.getConfigManager().isDebugMode()) {
                 plugin.getLogger().info("[DEBUG] Found " + commands.size() + " commands for trigger '" + triggerName + "'");
                 for (int i = 0; i < commands.size(); i++) {
-                    plugin.getLogger().info("[DEBUG] Command " + (i + 1) + ": " + commands.get(i));
+                    plugin.getLogger().info("[DEBUG] Command " + (i + 1) + ": " + commands.get(i).getSource());
                 }
             }
             
+            // Player data is read once for all commands of the trigger
+            CommandTemplate.TriggerContext context = new CommandTemplate.TriggerContext(
+                player, regionName, targetPlayer, flagName, size, regionFlag, stateFlag, point1, point2);
+            
+            Firing firing = policy == CoalescePolicy.QUEUE ? null
+                : new Firing(triggerName + ':' + player.getUniqueId() + ':' + (regionName != null ? regionName : ""),
+                    player.getUniqueId());
+            
             // Execute commands with delay
+            List<PendingAction> actions = new ArrayList<>(commands.size());
             int delay = 0;
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Starting command execution loop...");
-            }
-            
             for (int i = 0; i < commands.size(); i++) {
-                String command = commands.get(i);
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Processing command " + (i + 1) + ": '" + command + "'");
-                }
-                
-                if (command.trim().isEmpty()) {
+                final CommandTemplate.RenderedCommand processedCommand = commands.get(i).render(context);
+                if (processedCommand == null) {
                     if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Skipping empty command " + (i + 1));
+                        plugin.getLogger().warning("[DEBUG] Skipping empty processed command: '" + commands.get(i).getSource() + "'");
                     }
                     continue;
                 }
                 
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Processing command with placeholders...");
+                // svis commands run a bit later, after the selection got updated
+                int actionDelay = delay;
+                if (processedCommand.getAction() == CommandTemplate.ActionType.AS_PLAYER
+                        && processedCommand.getBody().startsWith("svis ")) {
+                    actionDelay += SVIS_DELAY;
                 }
-                final String processedCommand = processCommand(command, player, regionName, targetPlayer, flagName, size, regionFlag, stateFlag, point1, point2);
+                
                 if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Processed command: '" + processedCommand + "'");
+                    plugin.getLogger().info("[DEBUG] Queueing command execution: '" + processedCommand + "' with delay: " + actionDelay + " ticks");
                 }
+                actions.add(new PendingAction(player, processedCommand, currentTick + actionDelay, sequence.getAndIncrement(), firing));
                 
-                if (processedCommand != null && !processedCommand.trim().isEmpty()) {
-                    if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Scheduling command execution: '" + processedCommand + "' with delay: " + delay + " ticks");
-                    }
-                    
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                        if (plugin.getConfigManager().isDebugMode()) {
-                            plugin.getLogger().info("[DEBUG] Executing scheduled command: '" + processedCommand + "'");
-                        }
-                        executeCommand(processedCommand, player);
-                    }, delay);
-                    
-                    delay += plugin.getConfigManager().getCommandDelay() / 50; // Convert to ticks
-                    if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Next command delay will be: " + delay + " ticks");
-                    }
-                } else {
-                    if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().warning("[DEBUG] Skipping empty processed command: '" + command + "'");
-                    }
+                delay += plugin.getConfigManager().getCommandDelay() / 50; // Convert to ticks
+            }
+            
+            if (actions.isEmpty()) {
+                return;
+            }
+            
+            if (firing != null && !registerFiring(firing, policy, actions.size())) {
+                if (plugin.getConfigManager().isDebugMode()) {
+                    plugin.getLogger().info("[DEBUG] Trigger '" + triggerName + "' is already queued for " + player.getName() + ", firing dropped");
                 }
+                return;
             }
             
+            submitted.addAll(actions);
             if (plugin.getConfigManager().isDebugMode()) {
                 plugin.getLogger().info("[DEBUG] All commands scheduled for execution");
             }
@@ -209,71 +332,33 @@ public class CommandTriggerManager {
     }
     
     /**
-     * Process command string with placeholders
+     * Register firing according to coalescing policy
      * 
-     * @param command Original command
-     * @param player Player
-     * @param regionName Region name
-     * @param targetPlayer Target player name
-     * @param flagName Flag name
-     * @param size Size parameter
-     * @param regionFlag Region flag name
-     * @param stateFlag Flag state
-     * @return Processed command
+     * @param firing New firing
+     * @param policy Policy of the trigger, DROP or REPLACE
+     * @param actions Number of queued commands of the firing
+     * @return False if the firing is dropped
      */
-    private String processCommand(String command, Player player, String regionName, String targetPlayer, String flagName, String size, String regionFlag, String stateFlag, String point1, String point2) {
-        String processed = command;
-        
-        // Replace placeholders
-        processed = processed.replace("{player_name}", player.getName());
-        processed = processed.replace("{player_displayname}", player.getDisplayName());
-        processed = processed.replace("{player_world}", player.getWorld().getName());
-        processed = processed.replace("{player_x}", String.valueOf(player.getLocation().getBlockX()));
-        processed = processed.replace("{player_y}", String.valueOf(player.getLocation().getBlockY()));
-        processed = processed.replace("{player_z}", String.valueOf(player.getLocation().getBlockZ()));
-        
-        if (regionName != null) {
-            processed = processed.replace("{region_name}", regionName);
-        }
-        
-        if (targetPlayer != null) {
-            processed = processed.replace("{target_player}", targetPlayer);
-        }
-        
-        if (flagName != null) {
-            processed = processed.replace("{flag_name}", flagName);
-        }
-        
-        if (size != null) {
-            processed = processed.replace("{size}", size);
-        }
-        
-        if (regionFlag != null) {
-            processed = processed.replace("{region_flag}", regionFlag);
+    private boolean registerFiring(Firing firing, CoalescePolicy policy, int actions) {
+        firing.remaining.set(actions);
+        if (policy == CoalescePolicy.DROP) {
+            return pendingFirings.putIfAbsent(firing.key, firing) == null;
         }
         
-        if (stateFlag != null) {
-            processed = processed.replace("{state_flag}", stateFlag);
+        Firing previous = pendingFirings.put(firing.key, firing);
+        if (previous != null) {
+            previous.cancelled = true;
         }
-        
-        if (point1 != null) {
-            processed = processed.replace("{point_1}", point1);
-        }
-        
-        if (point2 != null) {
-            processed = processed.replace("{point_2}", point2);
-        }
-        
-        return processed;
+        return true;
     }
     
     /**
      * Execute processed command
      * 
-     * @param command Processed command
+     * @param command Rendered command
      * @param player Player
      */
-    private void executeCommand(String command, Player player) {
+    private void executeCommand(CommandTemplate.RenderedCommand command, Player player) {
         if (plugin.getConfigManager().isDebugMode()) {
             plugin.getLogger().info("[DEBUG] ========== CommandTriggerManager.executeCommand ==========");
             plugin.getLogger().info("[DEBUG] Command to execute: '" + command + "'");
@@ -281,145 +366,102 @@ public class CommandTriggerManager {
         }
         
         try {
-            if (command.startsWith("asPlayer!")) {
-                // Execute as player
-                String playerCommand = command.substring(9).trim();
-                if (playerCommand.startsWith("/")) {
-                    playerCommand = playerCommand.substring(1);
-                }
-
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Executing as player '" + player.getName() + "': " + playerCommand);
-                    plugin.getLogger().info("[DEBUG] Player is online: " + player.isOnline());
-                }
-
-                if (player.isOnline()) {
-                    // Special handling for svis commands - add delay
-                    if (playerCommand.startsWith("svis ")) {
-                        if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Detected svis command, adding delay");
-                }
-                        final String finalPlayerCommand = playerCommand;
-                        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
-                            boolean success = player.performCommand(finalPlayerCommand);
-                            if (plugin.getConfigManager().isDebugMode()) {
-                                plugin.getLogger().info("[DEBUG] Delayed svis command execution result: " + success);
-                            }
-                        }, 5L); // 5 ticks delay
-                    } else {
+            String body = command.getBody();
+            switch (command.getAction()) {
+                case AS_PLAYER:
+                    if (plugin.getConfigManager().isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] Executing as player '" + player.getName() + "': " + body);
+                        plugin.getLogger().info("[DEBUG] Player is online: " + player.isOnline());
+                    }
+                    
+                    if (player.isOnline()) {
                         // Use player.performCommand to execute the command as the player
-                        boolean success = player.performCommand(playerCommand);
+                        boolean success = player.performCommand(body);
                         if (plugin.getConfigManager().isDebugMode()) {
                             plugin.getLogger().info("[DEBUG] Command execution result: " + success);
                         }
+                    } else {
+                        plugin.getLogger().warning("[DEBUG] Player is not online, cannot execute command!");
                     }
-                } else {
-                    plugin.getLogger().warning("[DEBUG] Player is not online, cannot execute command!");
-                }
-                
-            } else if (command.startsWith("asConsole!")) {
-                // Execute as console
-                String consoleCommand = command.substring(10).trim();
-                if (consoleCommand.startsWith("/")) {
-                    consoleCommand = consoleCommand.substring(1);
-                }
-                
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Executing as console: " + consoleCommand);
-                }
-                
-                boolean success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), consoleCommand);
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Console command execution result: " + success);
-                }
-                
-            } else if (command.startsWith("asPlayer! msg ")) {
-                // Send message to player
-                String message = command.substring(14).trim();
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Sending message to player: " + message);
-                }
-                messageUtils.sendMessage(player, message);
-                
-            } else if (command.startsWith("asConsole! msg ")) {
-                // Send message to console
-                String message = command.substring(15).trim();
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Sending message to console: " + message);
-                }
-                plugin.getLogger().info(message);
-                
-            } else if (command.startsWith("asConsole! say ")) {
-                // Broadcast message
-                String message = command.substring(15).trim();
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Broadcasting message: " + message);
-                }
-                Bukkit.broadcastMessage(messageUtils.colorize(message));
-                
-            } else if (command.startsWith("chat! ")) {
-                // Send chat message to player
-                String message = command.substring(6).trim();
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Sending chat message to player: " + message);
-                }
-                if (messageUtils != null) {
-                    messageUtils.sendMessage(player, message);
+                    break;
+                    
+                case AS_CONSOLE:
+                case CONSOLE:
                     if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Chat message sent successfully");
+                        plugin.getLogger().info("[DEBUG] Executing as console: " + body);
                     }
-                } else {
-                    plugin.getLogger().warning("[DEBUG] MessageUtils is null, cannot send chat message!");
-                }
-                
-            } else if (command.startsWith("actionbar! ")) {
-                // Send actionbar message to player
-                String message = command.substring(11).trim();
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Sending actionbar message to player: " + message);
-                }
-                if (messageUtils != null) {
-                    messageUtils.sendActionBar(player, message);
+                    boolean success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), body);
                     if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Actionbar message sent successfully");
+                        plugin.getLogger().info("[DEBUG] Console command execution result: " + success);
                     }
-                } else {
-                    plugin.getLogger().warning("[DEBUG] MessageUtils is null, cannot send actionbar message!");
-                }
-                
-            } else if (command.startsWith("title! ")) {
-                // Send title to player
-                String message = command.substring(7).trim();
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Sending title to player: " + message);
-                }
-                if (messageUtils != null) {
-                    messageUtils.sendMessage(player, "title! " + message);
-                }
-                
-            } else if (command.startsWith("subtitle! ")) {
-                // Send subtitle to player
-                String message = command.substring(10).trim();
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Sending subtitle to player: " + message);
-                }
-                if (messageUtils != null) {
-                    messageUtils.sendMessage(player, "subtitle! " + message);
-                }
-                
-            } else {
-                // Default: execute as console
-                if (command.startsWith("/")) {
-                    command = command.substring(1);
-                }
-                
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Executing as console (default): " + command);
-                }
-                boolean success = Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Default console command execution result: " + success);
-                }
+                    break;
+                    
+                case CHAT:
+                    if (plugin.getConfigManager().isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] Sending chat message to player: " + body);
+                    }
+                    if (messageUtils != null) {
+                        messageUtils.sendMessage(player, body);
+                    } else {
+                        plugin.getLogger().warning("[DEBUG] MessageUtils is null, cannot send chat message!");
+                    }
+                    break;
+                    
+                case ACTIONBAR:
+                    if (plugin.getConfigManager().isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] Sending actionbar message to player: " + body);
+                    }
+                    if (messageUtils != null) {
+                        messageUtils.sendActionBar(player, body);
+                    } else {
+                        plugin.getLogger().warning("[DEBUG] MessageUtils is null, cannot send actionbar message!");
+                    }
+                    break;
+                    
+                case TITLE:
+                    if (plugin.getConfigManager().isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] Sending title to player: " + body);
+                    }
+                    if (messageUtils != null) {
+                        messageUtils.sendMessage(player, "title! " + body);
+                    }
+                    break;
+                    
+                case SUBTITLE:
+                    if (plugin.getConfigManager().isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] Sending subtitle to player: " + body);
+                    }
+                    if (messageUtils != null) {
+                        messageUtils.sendMessage(player, "subtitle! " + body);
+                    }
+                    break;
+                    
+                case NATIVE:
+                    TriggerActionRegistry.PreparedAction prepared = command.getPreparedAction();
+                    if (prepared == null) {
+                        TriggerActionRegistry.TriggerAction action = command.getNativeAction();
+                        if (action == null) {
+                            // Registered after the config was loaded
+                            action = actionRegistry.get(command.getActionName());
+                        }
+                        if (action == null) {
+                            // Not an action, dispatch the line as before
+                            if (plugin.getConfigManager().isDebugMode()) {
+                                plugin.getLogger().info("[DEBUG] Unknown action '" + command.getActionName() + "', executing as console: " + command.getText());
+                            }
+                            Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command.getText());
+                            break;
+                        }
+                        prepared = action.prepare(body);
+                    }
+                    
+                    if (plugin.getConfigManager().isDebugMode()) {
+                        plugin.getLogger().info("[DEBUG] Running native action '" + command.getActionName() + "': " + body);
+                    }
+                    if (player.isOnline()) {
+                        prepared.execute(player);
+                    }
+                    break;
             }
             
             if (plugin.getConfigManager().isDebugMode()) {
@@ -430,4 +472,66 @@ public class CommandTriggerManager {
             plugin.getLogger().log(Level.WARNING, "Ошибка при выполнении команды: " + command, e);
         }
     }
+    
+    /**
+     * Queued command of a trigger firing
+     */
+    private static final class PendingAction implements Comparable<PendingAction> {
+        private final Player player;
+        private final UUID playerId;
+        private final CommandTemplate.RenderedCommand command;
+        private final long dueTick;
+        private final long sequence; // Keeps trigger order for equal due ticks
+        private final Firing firing; // Null for triggers without coalescing
+        
+        private PendingAction(Player player, CommandTemplate.RenderedCommand command, long dueTick, long sequence, Firing firing) {
+            this.player = player;
+            this.playerId = player.getUniqueId();
+            this.command = command;
+            this.dueTick = dueTick;
+            this.sequence = sequence;
+            this.firing = firing;
+        }
+        
+        @Override
+        public int compareTo(PendingAction other) {
+            int compare = Long.compare(dueTick, other.dueTick);
+            return compare != 0 ? compare : Long.compare(sequence, other.sequence);
+        }
+    }
+    
+    /**
+     * Single firing of a trigger for a player and region
+     */
+    private static final class Firing {
+        private final String key;
+        private final UUID playerId;
+        private final AtomicInteger remaining; // Queued commands not run yet
+        private volatile boolean cancelled; // Replaced by a newer firing
+        
+        private Firing(String key, UUID playerId) {
+            this.key = key;
+            this.playerId = playerId;
+            this.remaining = new AtomicInteger();
+        }
+        
+        /**
+         * Mark one command as done
+         * 
+         * @return True if it was the last one
+         */
+        private boolean complete() {
+            return remaining.decrementAndGet() == 0;
+        }
+    }
+    
+    /**
+     * What happens when a trigger fires again for the same player and region
+     * while commands of the previous firing are still queued
+     */
+    public enum CoalescePolicy {
+        DROP,    // Keep the queued firing, ignore the new one
+        REPLACE, // Cancel rest of the queued firing, queue the new one
+        QUEUE    // Queue both
+    }
 }
@@ -4,6 +4,7 @@ import com.allfire.eregions.ERegions;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -26,7 +27,9 @@ public class ConfigManager {
     // Configuration sections
     private Map<String, Object> settings;
     private Map<String, List<String>> commandTriggers;
-    private Map<String, Object> boundaryTriggers;
+    private volatile Map<String, List<CommandTemplate>> commandTemplates;
+    private volatile Map<String, CommandTriggerManager.CoalescePolicy> commandTriggerPolicies;
+    private volatile Map<String, BoundaryTrigger> boundaryTriggers;
     private Map<String, Object> worldEditSettings;
     private Map<String, Object> worldGuardSettings;
     private Map<String, Object> economySettings;
@@ -39,7 +42,9 @@ public class ConfigManager {
         this.plugin = plugin;
         this.settings = new HashMap<>();
         this.commandTriggers = new HashMap<>();
-        this.boundaryTriggers = new HashMap<>();
+        this.commandTemplates = Collections.emptyMap();
+        this.commandTriggerPolicies = Collections.emptyMap();
+        this.boundaryTriggers = Collections.emptyMap();
         this.worldEditSettings = new HashMap<>();
         this.worldGuardSettings = new HashMap<>();
         this.economySettings = new HashMap<>();
@@ -88,11 +93,38 @@ public class ConfigManager {
         ConfigurationSection settingsSection = config.getConfigurationSection("settings");
         if (settingsSection != null) {
             settings.put("max-selection-distance", settingsSection.getInt("max-selection-distance", 1000));
+            settings.put("max-region-volume", Math.max(0L, settingsSection.getLong("max-region-volume", 0L)));
             settings.put("command-delay", settingsSection.getInt("command-delay", 100));
             settings.put("message-delay", settingsSection.getInt("message-delay", 50));
             settings.put("debug", settingsSection.getBoolean("debug", false));
             settings.put("enable-boundary-detection", settingsSection.getBoolean("enable-boundary-detection", true));
             settings.put("boundary-detection-distance", settingsSection.getDouble("boundary-detection-distance", 5.0));
+            settings.put("boundary-check-mode", parseBoundaryCheckMode(settingsSection.getString("boundary-check-mode", "block")));
+            settings.put("boundary-engine", parseBoundaryEngine(settingsSection.getString("boundary-engine", "event")));
+        }
+    }
+    
+    /**
+     * Parse boundary check mode, falling back to block mode
+     */
+    private BoundaryDetectionManager.CheckMode parseBoundaryCheckMode(String value) {
+        try {
+            return BoundaryDetectionManager.CheckMode.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Неизвестный режим boundary-check-mode: " + value + ", используется block");
+            return BoundaryDetectionManager.CheckMode.BLOCK;
+        }
+    }
+    
+    /**
+     * Parse boundary detection engine, falling back to event engine
+     */
+    private BoundaryDetectionManager.Engine parseBoundaryEngine(String value) {
+        try {
+            return BoundaryDetectionManager.Engine.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Неизвестный режим boundary-engine: " + value + ", используется event");
+            return BoundaryDetectionManager.Engine.EVENT;
         }
     }
     
@@ -100,6 +132,8 @@ public class ConfigManager {
      * Load command triggers
      */
     private void loadCommandTriggers() {
+        Map<String, List<CommandTemplate>> templates = new HashMap<>();
+        Map<String, CommandTriggerManager.CoalescePolicy> policies = new HashMap<>();
         ConfigurationSection triggersSection = config.getConfigurationSection("command-triggers");
         if (triggersSection != null) {
             for (String triggerName : triggersSection.getKeys(false)) {
@@ -107,28 +141,55 @@ public class ConfigManager {
                 if (triggerSection != null) {
                     List<String> commands = triggerSection.getStringList("commands");
                     commandTriggers.put(triggerName, commands);
+                    templates.put(triggerName, CommandTemplate.compileAll(plugin, commands));
+                    policies.put(triggerName, parseCoalescePolicy(triggerSection.getString("coalesce"),
+                        CommandTriggerManager.CoalescePolicy.QUEUE));
                 }
             }
         }
+        commandTemplates = Collections.unmodifiableMap(templates);
+        commandTriggerPolicies = Collections.unmodifiableMap(policies);
+    }
+    
+    /**
+     * Parse trigger coalescing policy, falling back to the default of the trigger kind
+     */
+    private CommandTriggerManager.CoalescePolicy parseCoalescePolicy(String value, CommandTriggerManager.CoalescePolicy fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return CommandTriggerManager.CoalescePolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Неизвестный режим coalesce: " + value + ", используется " + fallback.name().toLowerCase());
+            return fallback;
+        }
     }
     
     /**
      * Load boundary triggers
+     * Built into a new map and swapped in at once, so readers never see a partial reload
      */
     private void loadBoundaryTriggers() {
+        Map<String, BoundaryTrigger> loaded = new HashMap<>();
         ConfigurationSection boundarySection = config.getConfigurationSection("boundary-triggers");
         if (boundarySection != null) {
             for (String triggerName : boundarySection.getKeys(false)) {
                 ConfigurationSection triggerSection = boundarySection.getConfigurationSection(triggerName);
                 if (triggerSection != null) {
-                    Map<String, Object> triggerData = new HashMap<>();
-                    triggerData.put("enabled", triggerSection.getBoolean("enabled", true));
-                    triggerData.put("distance", triggerSection.getDouble("distance", 5.0));
-                    triggerData.put("commands", triggerSection.getStringList("commands"));
-                    boundaryTriggers.put(triggerName, triggerData);
+                    List<String> commands = triggerSection.getStringList("commands");
+                    loaded.put(triggerName, new BoundaryTrigger(
+                        triggerSection.getBoolean("enabled", true),
+                        triggerSection.getDouble("distance", BoundaryTrigger.DEFAULT_DISTANCE),
+                        triggerSection.getDouble("cooldown", BoundaryTrigger.DEFAULT_COOLDOWN),
+                        commands,
+                        CommandTemplate.compileAll(plugin, commands),
+                        parseCoalescePolicy(triggerSection.getString("coalesce"), CommandTriggerManager.CoalescePolicy.DROP)
+                    ));
                 }
             }
         }
+        boundaryTriggers = Collections.unmodifiableMap(loaded);
     }
     
     /**
@@ -203,6 +264,13 @@ public class ConfigManager {
         if (placeholderSection != null) {
             placeholderSettings.put("enabled", placeholderSection.getBoolean("enabled", true));
             placeholderSettings.put("custom-placeholders", placeholderSection.getStringList("custom-placeholders"));
+            placeholderSettings.put("owners-separator", placeholderSection.getString("owners-separator", ", "));
+            placeholderSettings.put("members-separator", placeholderSection.getString("members-separator", ", "));
+            placeholderSettings.put("owned-separator", placeholderSection.getString("owned-separator", ", "));
+            placeholderSettings.put("membered-separator", placeholderSection.getString("membered-separator", ", "));
+            placeholderSettings.put("cache-ttl.selection", placeholderSection.getInt("cache-ttl.selection", 0));
+            placeholderSettings.put("cache-ttl.region", placeholderSection.getInt("cache-ttl.region", 20));
+            placeholderSettings.put("cache-ttl.player-regions", placeholderSection.getInt("cache-ttl.player-regions", 100));
         }
     }
     
@@ -213,9 +281,12 @@ public class ConfigManager {
         ConfigurationSection performanceSection = config.getConfigurationSection("performance");
         if (performanceSection != null) {
             performanceSettings.put("max-regions-per-tick", performanceSection.getInt("max-regions-per-tick", 10));
+            performanceSettings.put("players-per-tick", performanceSection.getInt("players-per-tick", 10));
+            performanceSettings.put("max-actions-per-tick", performanceSection.getInt("max-actions-per-tick", 50));
             performanceSettings.put("cache-regions", performanceSection.getBoolean("cache-regions", true));
             performanceSettings.put("cache-duration", performanceSection.getInt("cache-duration", 5));
             performanceSettings.put("async-operations", performanceSection.getBoolean("async-operations", true));
+            performanceSettings.put("region-sync-interval", performanceSection.getInt("region-sync-interval", 200));
         }
     }
     
@@ -238,6 +309,15 @@ public class ConfigManager {
         return (Integer) settings.getOrDefault("max-selection-distance", 1000);
     }
     
+    /**
+     * Get maximum volume of a region created by player
+     * 
+     * @return Volume in blocks, 0 - unlimited
+     */
+    public long getMaxRegionVolume() {
+        return (Long) settings.getOrDefault("max-region-volume", 0L);
+    }
+    
     public int getCommandDelay() {
         return (Integer) settings.getOrDefault("command-delay", 100);
     }
@@ -258,12 +338,92 @@ public class ConfigManager {
         return (Double) settings.getOrDefault("boundary-detection-distance", 5.0);
     }
     
+    /**
+     * Get when PlayerMoveEvent should trigger a boundary check
+     * 
+     * @return Check mode
+     */
+    public BoundaryDetectionManager.CheckMode getBoundaryCheckMode() {
+        return (BoundaryDetectionManager.CheckMode) settings.getOrDefault("boundary-check-mode", BoundaryDetectionManager.CheckMode.BLOCK);
+    }
+    
+    /**
+     * Get how boundary checks are driven
+     * 
+     * @return Boundary detection engine
+     */
+    public BoundaryDetectionManager.Engine getBoundaryEngine() {
+        return (BoundaryDetectionManager.Engine) settings.getOrDefault("boundary-engine", BoundaryDetectionManager.Engine.EVENT);
+    }
+    
+    /**
+     * Check if heavy work may run off the main thread
+     * 
+     * @return True if async operations are enabled
+     */
+    public boolean isAsyncOperationsEnabled() {
+        return (Boolean) performanceSettings.getOrDefault("async-operations", true);
+    }
+    
+    /**
+     * Get maximum regions evaluated per tick by the scheduled boundary engine
+     * 
+     * @return Region budget per tick
+     */
+    public int getMaxRegionsPerTick() {
+        return Math.max(1, (Integer) performanceSettings.getOrDefault("max-regions-per-tick", 10));
+    }
+    
+    /**
+     * Get maximum players checked per tick by the scheduled boundary engine
+     * 
+     * @return Player budget per tick
+     */
+    public int getPlayersPerTick() {
+        return Math.max(1, (Integer) performanceSettings.getOrDefault("players-per-tick", 10));
+    }
+    
+    /**
+     * Get maximum trigger commands executed per tick
+     * 
+     * @return Action budget per tick
+     */
+    public int getMaxActionsPerTick() {
+        return Math.max(1, (Integer) performanceSettings.getOrDefault("max-actions-per-tick", 50));
+    }
+    
     public List<String> getCommandTrigger(String triggerName) {
         return commandTriggers.getOrDefault(triggerName, new ArrayList<>());
     }
     
-    public Map<String, Object> getBoundaryTrigger(String triggerName) {
-        return (Map<String, Object>) boundaryTriggers.getOrDefault(triggerName, new HashMap<>());
+    /**
+     * Get compiled commands of command trigger
+     * 
+     * @param triggerName Trigger name
+     * @return Templates or null if trigger is not configured
+     */
+    public List<CommandTemplate> getCommandTemplates(String triggerName) {
+        return commandTemplates.get(triggerName);
+    }
+    
+    /**
+     * Get coalescing policy of command trigger
+     * 
+     * @param triggerName Trigger name
+     * @return Policy, queue if not configured
+     */
+    public CommandTriggerManager.CoalescePolicy getCommandTriggerCoalescePolicy(String triggerName) {
+        return commandTriggerPolicies.getOrDefault(triggerName, CommandTriggerManager.CoalescePolicy.QUEUE);
+    }
+    
+    /**
+     * Get boundary trigger
+     * 
+     * @param triggerName Trigger name, e.g. boundary-enter
+     * @return Trigger or null if it is not configured
+     */
+    public BoundaryTrigger getBoundaryTrigger(String triggerName) {
+        return boundaryTriggers.get(triggerName);
     }
     
     public boolean isWorldEditEnabled() {
@@ -282,10 +442,46 @@ public class ConfigManager {
         return (Integer) economySettings.getOrDefault("region-creation-cost", 1000);
     }
     
+    /**
+     * Get interval of the WorldGuard region sync
+     * 
+     * @return Interval in ticks, 0 disables the sync
+     */
+    public int getRegionSyncInterval() {
+        return (Integer) performanceSettings.getOrDefault("region-sync-interval", 200);
+    }
+    
     public boolean isDebugMode() {
         return (Boolean) settings.getOrDefault("debug", false);
     }
     
+    /**
+     * Get placeholder separator
+     * 
+     * @param key owners-separator, members-separator, owned-separator or membered-separator
+     * @return Separator
+     */
+    public String getPlaceholderSeparator(String key) {
+        return (String) placeholderSettings.getOrDefault(key, ", ");
+    }
+    
+    /**
+     * Get how long placeholder results of a family are cached
+     * Limited by performance.cache-duration, disabled by performance.cache-regions: false
+     * 
+     * @param family selection, region or player-regions
+     * @return TTL in ticks, 0 means no caching
+     */
+    public int getPlaceholderCacheTtl(String family) {
+        if (!(Boolean) performanceSettings.getOrDefault("cache-regions", true)) {
+            return 0;
+        }
+        
+        int ttl = (Integer) placeholderSettings.getOrDefault("cache-ttl." + family, 0);
+        int maxTtl = (Integer) performanceSettings.getOrDefault("cache-duration", 5) * 60 * 20; // Minutes to ticks
+        return Math.max(0, Math.min(ttl, maxTtl));
+    }
+    
     /**
      * Check if command logging is enabled
      * 
@@ -473,4 +669,53 @@ public class ConfigManager {
             plugin.getLogger().severe("Ошибка при перезагрузке конфигурации: " + e.getMessage());
         }
     }
+    
+    /**
+     * Immutable boundary trigger settings
+     */
+    public static final class BoundaryTrigger {
+        public static final double DEFAULT_DISTANCE = 5.0;
+        public static final double DEFAULT_COOLDOWN = 3.0;
+        
+        private final boolean enabled;
+        private final double distance;
+        private final long cooldownMillis;
+        private final List<String> commands;
+        private final List<CommandTemplate> templates;
+        private final CommandTriggerManager.CoalescePolicy coalescePolicy;
+        
+        public BoundaryTrigger(boolean enabled, double distance, double cooldownSeconds, List<String> commands,
+                               List<CommandTemplate> templates, CommandTriggerManager.CoalescePolicy coalescePolicy) {
+            this.enabled = enabled;
+            this.distance = distance;
+            this.cooldownMillis = (long) (cooldownSeconds * 1000);
+            this.commands = List.copyOf(commands);
+            this.templates = List.copyOf(templates);
+            this.coalescePolicy = coalescePolicy;
+        }
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public double getDistance() {
+            return distance;
+        }
+        
+        public long getCooldownMillis() {
+            return cooldownMillis;
+        }
+        
+        public List<String> getCommands() {
+            return commands;
+        }
+        
+        public List<CommandTemplate> getTemplates() {
+            return templates;
+        }
+        
+        public CommandTriggerManager.CoalescePolicy getCoalescePolicy() {
+            return coalescePolicy;
+        }
+    }
 }
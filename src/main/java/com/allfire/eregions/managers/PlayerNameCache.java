@@ -0,0 +1,263 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Player Name Cache
+ *
+ * Resolves player names to UUIDs and back without blocking profile lookups
+ * Preloaded from the server usercache, refreshed on join
+ * Unknown UUIDs are resolved asynchronously and left out until then
+ * Both directions are bounded LRU maps, players the server never saw are retried later
+ *
+ * @author AllF1RE
+ */
+public class PlayerNameCache {
+
+    private static final int MAX_NAMES = 10000;
+    private static final long RETRY_DELAY = 300000; // 5 minutes
+
+    private final ERegions plugin;
+    private final Map<String, UUID> uuidsByName; // Lowercase name -> UUID, LRU, guarded by itself
+    private final Map<UUID, String> namesByUuid; // LRU, guarded by itself
+    private final Map<UUID, Long> retryAfter; // Unknown to the server -> next lookup time, LRU, guarded by itself
+    private final Set<UUID> pendingLookups;
+    private final AtomicLong namesVersion; // Bumped when a name was resolved asynchronously
+    private final AtomicLong renamesVersion; // Bumped when a known player changed name
+
+    public PlayerNameCache(ERegions plugin) {
+        this.plugin = plugin;
+        this.uuidsByName = newLru();
+        this.namesByUuid = newLru();
+        this.retryAfter = newLru();
+        this.pendingLookups = ConcurrentHashMap.newKeySet();
+        this.namesVersion = new AtomicLong();
+        this.renamesVersion = new AtomicLong();
+    }
+
+    /**
+     * Create access ordered map holding at most MAX_NAMES entries
+     */
+    private static <K, V> Map<K, V> newLru() {
+        return new LinkedHashMap<K, V>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > MAX_NAMES;
+            }
+        };
+    }
+
+    /**
+     * Preload names from usercache.json of the server, off the main thread
+     */
+    public void preload() {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            File file = new File(Bukkit.getWorldContainer(), "usercache.json");
+            if (!file.isFile()) {
+                return;
+            }
+
+            int loaded = 0;
+            try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                JsonArray entries = JsonParser.parseReader(reader).getAsJsonArray();
+                for (JsonElement element : entries) {
+                    JsonObject entry = element.getAsJsonObject();
+                    if (!entry.has("name") || !entry.has("uuid")) {
+                        continue;
+                    }
+
+                    String name = entry.get("name").getAsString();
+                    UUID uuid = UUID.fromString(entry.get("uuid").getAsString());
+                    synchronized (uuidsByName) {
+                        uuidsByName.putIfAbsent(name.toLowerCase(), uuid);
+                    }
+                    synchronized (namesByUuid) {
+                        namesByUuid.putIfAbsent(uuid, name);
+                    }
+                    loaded++;
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Ошибка при чтении usercache.json: " + e.getMessage());
+                return;
+            }
+
+            namesVersion.incrementAndGet();
+            if (plugin.getConfigManager().isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] PlayerNameCache: preloaded " + loaded + " names from usercache.json");
+            }
+        });
+    }
+
+    /**
+     * Remember name and UUID of player
+     *
+     * @param player Player
+     */
+    public void remember(Player player) {
+        synchronized (uuidsByName) {
+            uuidsByName.put(player.getName().toLowerCase(), player.getUniqueId());
+        }
+        synchronized (retryAfter) {
+            retryAfter.remove(player.getUniqueId());
+        }
+        String previous;
+        synchronized (namesByUuid) {
+            previous = namesByUuid.put(player.getUniqueId(), player.getName());
+        }
+        if (!player.getName().equals(previous)) {
+            namesVersion.incrementAndGet();
+            if (previous != null) {
+                renamesVersion.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Get UUID of player by name
+     *
+     * @param playerName Player name
+     * @return UUID or null if player is unknown
+     */
+    public UUID getUniqueId(String playerName) {
+        if (playerName == null) {
+            return null;
+        }
+
+        UUID uuid;
+        synchronized (uuidsByName) {
+            uuid = uuidsByName.get(playerName.toLowerCase());
+        }
+        if (uuid != null) {
+            return uuid;
+        }
+
+        Player online = Bukkit.getPlayerExact(playerName);
+        if (online != null) {
+            remember(online);
+            return online.getUniqueId();
+        }
+        return null;
+    }
+
+    /**
+     * Get name of player for display
+     * Never blocks: unknown players are looked up asynchronously,
+     * the names version changes once the name is known
+     *
+     * @param uuid Player UUID
+     * @return Player name or null if it is not known yet
+     */
+    public String getName(UUID uuid) {
+        String name;
+        synchronized (namesByUuid) {
+            name = namesByUuid.get(uuid);
+        }
+        if (name != null) {
+            return name;
+        }
+
+        Player online = Bukkit.getPlayer(uuid);
+        if (online != null) {
+            remember(online);
+            return online.getName();
+        }
+
+        resolveAsync(uuid);
+        return null;
+    }
+
+    /**
+     * Get version of cached names, changes whenever a displayed name may change
+     *
+     * @return Names version
+     */
+    public long getNamesVersion() {
+        return namesVersion.get();
+    }
+
+    /**
+     * Get version of renames, changes only when a name already known changed
+     *
+     * @return Renames version
+     */
+    public long getRenamesVersion() {
+        return renamesVersion.get();
+    }
+
+    /**
+     * Drop all cached names
+     */
+    public void clear() {
+        synchronized (uuidsByName) {
+            uuidsByName.clear();
+        }
+        synchronized (namesByUuid) {
+            namesByUuid.clear();
+        }
+        synchronized (retryAfter) {
+            retryAfter.clear();
+        }
+    }
+
+    /**
+     * Look up name of offline player off the main thread
+     */
+    private void resolveAsync(UUID uuid) {
+        synchronized (retryAfter) {
+            Long retryTime = retryAfter.get(uuid);
+            if (retryTime != null && System.currentTimeMillis() < retryTime) {
+                return;
+            }
+        }
+        if (!pendingLookups.add(uuid)) {
+            return;
+        }
+
+        try {
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                try {
+                    String name = Bukkit.getOfflinePlayer(uuid).getName();
+                    if (name == null) {
+                        // Never seen by this server, ask again later or when the player joins
+                        synchronized (retryAfter) {
+                            retryAfter.put(uuid, System.currentTimeMillis() + RETRY_DELAY);
+                        }
+                        return;
+                    }
+
+                    synchronized (uuidsByName) {
+                        uuidsByName.putIfAbsent(name.toLowerCase(), uuid);
+                    }
+                    synchronized (namesByUuid) {
+                        namesByUuid.put(uuid, name);
+                    }
+                    namesVersion.incrementAndGet();
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Ошибка при получении имени игрока " + uuid + ": " + e.getMessage());
+                } finally {
+                    pendingLookups.remove(uuid);
+                }
+            });
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // Plugin is being disabled
+            pendingLookups.remove(uuid);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Player Region Tracker
+ *
+ * Remembers which region each player is standing in
+ * The region is resolved again only after the player changed block or world,
+ * or after any region was created, removed or changed
+ * Safe to use from placeholder requests on async threads
+ *
+ * @author AllF1RE
+ */
+public class PlayerRegionTracker implements RegionChangeManager.RegionChangeListener {
+
+    private final ERegions plugin;
+    private final Map<UUID, CurrentRegion> currentRegions;
+    private final AtomicLong regionsVersion; // Bumped on every region change
+
+    public PlayerRegionTracker(ERegions plugin) {
+        this.plugin = plugin;
+        this.currentRegions = new ConcurrentHashMap<>();
+        this.regionsVersion = new AtomicLong();
+    }
+
+    /**
+     * Get region player is standing in
+     *
+     * @param player Player
+     * @return Region or null if player is not in any region
+     */
+    public ProtectedRegion getCurrentRegion(Player player) {
+        Location location = player.getLocation();
+        World world = location.getWorld();
+        if (world == null) {
+            return null;
+        }
+
+        UUID worldId = world.getUID();
+        long blockKey = packBlock(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+        long version = regionsVersion.get();
+
+        CurrentRegion cached = currentRegions.get(player.getUniqueId());
+        if (cached != null && cached.matches(worldId, blockKey, version)) {
+            return cached.region;
+        }
+
+        ProtectedRegion region = plugin.getWorldGuardUtils().getRegionAtLocation(location);
+        currentRegions.put(player.getUniqueId(), new CurrentRegion(worldId, blockKey, version, region));
+        return region;
+    }
+
+    /**
+     * Forget region of player
+     *
+     * @param player Player
+     */
+    public void invalidate(Player player) {
+        currentRegions.remove(player.getUniqueId());
+    }
+
+    /**
+     * Drop all tracked regions
+     */
+    public void clear() {
+        currentRegions.clear();
+    }
+
+    @Override
+    public void onRegionChanged(World world, String regionId, ProtectedRegion region) {
+        // Bounds or priority may have changed, every cached lookup is stale
+        regionsVersion.incrementAndGet();
+    }
+
+    /**
+     * Pack block position into a single long (26 bits X/Z, 12 bits Y)
+     */
+    private static long packBlock(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * Immutable lookup result for a single player
+     */
+    private static final class CurrentRegion {
+        private final UUID worldId;
+        private final long blockKey;
+        private final long version;
+        private final ProtectedRegion region;
+
+        private CurrentRegion(UUID worldId, long blockKey, long version, ProtectedRegion region) {
+            this.worldId = worldId;
+            this.blockKey = blockKey;
+            this.version = version;
+            this.region = region;
+        }
+
+        private boolean matches(UUID worldId, long blockKey, long version) {
+            return this.blockKey == blockKey && this.version == version && this.worldId.equals(worldId);
+        }
+    }
+}
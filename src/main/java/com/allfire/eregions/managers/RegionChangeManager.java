@@ -0,0 +1,245 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+
+/**
+ * Region Change Manager
+ *
+ * Notifies region caches and indexes about created, removed and changed regions
+ * Periodically diffs WorldGuard regions to pick up changes made outside eRegions
+ *
+ * @author AllF1RE
+ */
+public class RegionChangeManager {
+
+    private final ERegions plugin;
+    private final List<RegionChangeListener> listeners;
+    private final Map<UUID, Map<String, Long>> fingerprints;
+    private BukkitTask syncTask;
+    private int nextWorld;
+    private long ticksSinceSync;
+
+    public RegionChangeManager(ERegions plugin) {
+        this.plugin = plugin;
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.fingerprints = new ConcurrentHashMap<>();
+        this.nextWorld = 0;
+    }
+
+    /**
+     * Register region change listener
+     *
+     * @param listener Listener to register
+     */
+    public void addListener(RegionChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Start periodic sync with WorldGuard
+     * Records current state of all loaded worlds as baseline
+     */
+    public void start() {
+        stop();
+
+        for (World world : Bukkit.getWorlds()) {
+            recordBaseline(world);
+        }
+
+        ticksSinceSync = 0;
+        if (plugin.getConfigManager().getRegionSyncInterval() > 0) {
+            syncTask = Bukkit.getScheduler().runTaskTimer(plugin, this::syncNextWorld, 1L, 1L);
+        }
+    }
+
+    /**
+     * Stop periodic sync
+     */
+    public void stop() {
+        if (syncTask != null) {
+            syncTask.cancel();
+            syncTask = null;
+        }
+    }
+
+    /**
+     * Notify listeners that region was created, removed or changed
+     *
+     * @param world World of the region
+     * @param regionId Region id
+     */
+    public void notifyRegionChanged(World world, String regionId) {
+        try {
+            RegionManager regions = getRegionManager(world);
+            ProtectedRegion region = regions != null ? regions.getRegion(regionId) : null;
+
+            Map<String, Long> worldFingerprints = fingerprints.get(world.getUID());
+            if (worldFingerprints != null) {
+                if (region != null) {
+                    worldFingerprints.put(region.getId(), fingerprint(region));
+                } else {
+                    worldFingerprints.remove(regionId);
+                }
+            }
+
+            dispatch(world, region != null ? region.getId() : regionId, region);
+
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Ошибка при обработке изменения региона " + regionId, e);
+        }
+    }
+
+    /**
+     * Diff next world against its last known state
+     * One world per run keeps the cost of a single run bounded, runs are spread
+     * over the interval so every world is checked once per region-sync-interval
+     */
+    private void syncNextWorld() {
+        List<World> worlds = Bukkit.getWorlds();
+        if (worlds.isEmpty()) {
+            return;
+        }
+
+        long step = Math.max(1, plugin.getConfigManager().getRegionSyncInterval() / worlds.size());
+        if (++ticksSinceSync < step) {
+            return;
+        }
+        ticksSinceSync = 0;
+
+        if (nextWorld >= worlds.size()) {
+            nextWorld = 0;
+        }
+        syncWorld(worlds.get(nextWorld++));
+    }
+
+    /**
+     * Diff world regions against recorded fingerprints and notify about differences
+     *
+     * @param world World to sync
+     */
+    public void syncWorld(World world) {
+        try {
+            Map<String, Long> previous = fingerprints.get(world.getUID());
+            if (previous == null) {
+                recordBaseline(world);
+                return;
+            }
+
+            RegionManager regions = getRegionManager(world);
+            if (regions == null) {
+                return;
+            }
+
+            Map<String, Long> current = new HashMap<>();
+            List<ProtectedRegion> changed = new ArrayList<>();
+            for (ProtectedRegion region : regions.getRegions().values()) {
+                long fingerprint = fingerprint(region);
+                current.put(region.getId(), fingerprint);
+
+                Long old = previous.get(region.getId());
+                if (old == null || old != fingerprint) {
+                    changed.add(region);
+                }
+            }
+
+            List<String> removed = new ArrayList<>();
+            for (String regionId : previous.keySet()) {
+                if (!current.containsKey(regionId)) {
+                    removed.add(regionId);
+                }
+            }
+
+            fingerprints.put(world.getUID(), new ConcurrentHashMap<>(current));
+
+            for (ProtectedRegion region : changed) {
+                dispatch(world, region.getId(), region);
+            }
+            for (String regionId : removed) {
+                dispatch(world, regionId, null);
+            }
+
+            if (plugin.getConfigManager().isDebugMode() && (!changed.isEmpty() || !removed.isEmpty())) {
+                plugin.getLogger().info("[DEBUG] RegionChangeManager: world " + world.getName() + " - "
+                    + changed.size() + " changed, " + removed.size() + " removed regions");
+            }
+
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Ошибка при синхронизации регионов мира " + world.getName(), e);
+        }
+    }
+
+    /**
+     * Record fingerprints of all regions in world without notifying
+     */
+    private void recordBaseline(World world) {
+        RegionManager regions = getRegionManager(world);
+        if (regions == null) {
+            return;
+        }
+
+        Map<String, Long> worldFingerprints = new ConcurrentHashMap<>();
+        for (ProtectedRegion region : regions.getRegions().values()) {
+            worldFingerprints.put(region.getId(), fingerprint(region));
+        }
+        fingerprints.put(world.getUID(), worldFingerprints);
+    }
+
+    /**
+     * Dispatch change to all listeners
+     */
+    private void dispatch(World world, String regionId, ProtectedRegion region) {
+        for (RegionChangeListener listener : listeners) {
+            try {
+                listener.onRegionChanged(world, regionId, region);
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "Ошибка в обработчике изменения региона " + regionId, e);
+            }
+        }
+    }
+
+    /**
+     * Cheap hash of everything eRegions caches about a region
+     */
+    private long fingerprint(ProtectedRegion region) {
+        long hash = region.getMinimumPoint().hashCode();
+        hash = 31 * hash + region.getMaximumPoint().hashCode();
+        hash = 31 * hash + region.getPoints().hashCode();
+        hash = 31 * hash + region.getPriority();
+        hash = 31 * hash + region.getFlags().hashCode();
+        hash = 31 * hash + region.getOwners().getUniqueIds().hashCode();
+        hash = 31 * hash + region.getOwners().getPlayers().hashCode();
+        hash = 31 * hash + region.getMembers().getUniqueIds().hashCode();
+        hash = 31 * hash + region.getMembers().getPlayers().hashCode();
+        return hash;
+    }
+
+    private RegionManager getRegionManager(World world) {
+        RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+        return container.get(BukkitAdapter.adapt(world));
+    }
+
+    /**
+     * Listener for region changes
+     * Called on the main thread; region is null when it was removed
+     */
+    public interface RegionChangeListener {
+        void onRegionChanged(World world, String regionId, ProtectedRegion region);
+    }
+}
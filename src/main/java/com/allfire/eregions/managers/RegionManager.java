@@ -68,6 +68,14 @@ public class RegionManager {
                 return false;
             }
             
+            // Check region volume limit
+            RegionMetrics metrics = RegionMetrics.of(pos1, pos2);
+            if (exceedsVolumeLimit(metrics)) {
+                plugin.getLogger().warning("Объем региона '" + regionName + "' (" + metrics.getVolume() + " блоков) превышает лимит "
+                    + plugin.getConfigManager().getMaxRegionVolume() + " блоков");
+                return false;
+            }
+            
             // Create region in WorldGuard
             boolean success = worldGuardUtils.createRegion(player.getWorld(), regionName, pos1, pos2, player);
             
@@ -91,6 +99,17 @@ public class RegionManager {
         }
     }
     
+    /**
+     * Check region against settings.max-region-volume
+     * 
+     * @param metrics Region metrics
+     * @return True if region is larger than allowed
+     */
+    public boolean exceedsVolumeLimit(RegionMetrics metrics) {
+        long maxVolume = plugin.getConfigManager().getMaxRegionVolume();
+        return maxVolume > 0 && metrics.getVolume() > maxVolume;
+    }
+    
     /**
      * Remove a region
      * 
@@ -0,0 +1,107 @@
+package com.allfire.eregions.managers;
+
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.protection.regions.ProtectedPolygonalRegion;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import org.bukkit.Location;
+
+import java.util.List;
+
+/**
+ * Region Metrics
+ *
+ * Immutable volume, footprint area and height of a region or selection
+ * All values are long, huge admin regions do not overflow
+ * Cached per region version by RegionProjectionCache
+ *
+ * @author AllF1RE
+ */
+public final class RegionMetrics {
+
+    private final long area;
+    private final long height;
+    private final long volume;
+
+    private RegionMetrics(long area, long height) {
+        this.area = area;
+        this.height = height;
+        this.volume = area * height;
+    }
+
+    /**
+     * Compute metrics of a WorldGuard region
+     * Polygonal regions use the area of their outline, like WorldGuard does
+     *
+     * @param region Region
+     * @return Metrics
+     */
+    public static RegionMetrics of(ProtectedRegion region) {
+        BlockVector3 min = region.getMinimumPoint();
+        BlockVector3 max = region.getMaximumPoint();
+        long height = (long) max.y() - min.y() + 1;
+
+        if (region instanceof ProtectedPolygonalRegion) {
+            return new RegionMetrics(polygonArea(region.getPoints()), height);
+        }
+        return new RegionMetrics(((long) max.x() - min.x() + 1) * ((long) max.z() - min.z() + 1), height);
+    }
+
+    /**
+     * Compute metrics of a cuboid between two corners, in any order
+     *
+     * @param pos1 First corner
+     * @param pos2 Second corner
+     * @return Metrics
+     */
+    public static RegionMetrics of(Location pos1, Location pos2) {
+        long width = Math.abs((long) pos1.getBlockX() - pos2.getBlockX()) + 1;
+        long length = Math.abs((long) pos1.getBlockZ() - pos2.getBlockZ()) + 1;
+        long height = Math.abs((long) pos1.getBlockY() - pos2.getBlockY()) + 1;
+        return new RegionMetrics(width * length, height);
+    }
+
+    /**
+     * Shoelace area of polygon outline
+     */
+    private static long polygonArea(List<BlockVector2> points) {
+        if (points.size() < 3) {
+            return points.size();
+        }
+
+        long doubled = 0;
+        for (int i = 0, j = points.size() - 1; i < points.size(); j = i++) {
+            BlockVector2 current = points.get(i);
+            BlockVector2 previous = points.get(j);
+            doubled += (long) previous.x() * current.z() - (long) current.x() * previous.z();
+        }
+        return Math.abs(doubled) / 2;
+    }
+
+    /**
+     * Get footprint area in blocks
+     *
+     * @return Area
+     */
+    public long getArea() {
+        return area;
+    }
+
+    /**
+     * Get height in blocks
+     *
+     * @return Height
+     */
+    public long getHeight() {
+        return height;
+    }
+
+    /**
+     * Get volume in blocks
+     *
+     * @return Volume
+     */
+    public long getVolume() {
+        return volume;
+    }
+}
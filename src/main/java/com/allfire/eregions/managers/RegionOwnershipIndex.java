@@ -0,0 +1,308 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldguard.WorldGuard;
+import com.sk89q.worldguard.domains.DefaultDomain;
+import com.sk89q.worldguard.protection.managers.RegionManager;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import com.sk89q.worldguard.protection.regions.RegionContainer;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Region Ownership Index
+ *
+ * Per-world reverse index from player to regions they own or are member of
+ * Members added by name (legacy WorldGuard domains) are indexed by lowercase name
+ * Kept up to date in place through region change notifications
+ *
+ * @author AllF1RE
+ */
+public class RegionOwnershipIndex implements RegionChangeManager.RegionChangeListener {
+
+    private final ERegions plugin;
+    private final Map<UUID, WorldOwnership> worlds;
+
+    public RegionOwnershipIndex(ERegions plugin) {
+        this.plugin = plugin;
+        this.worlds = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get regions owned by player
+     *
+     * @param world World
+     * @param playerId Player UUID
+     * @return Sorted region ids
+     */
+    public List<String> getOwnedRegions(World world, UUID playerId) {
+        WorldOwnership ownership = getWorldOwnership(world);
+        if (ownership == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(ownership.owners.getOrDefault(playerId, Collections.emptyList()));
+    }
+
+    /**
+     * Get regions where player is member, by UUID or by name
+     *
+     * @param world World
+     * @param playerId Player UUID
+     * @param playerName Player name
+     * @return Sorted region ids
+     */
+    public List<String> getMemberRegions(World world, UUID playerId, String playerName) {
+        WorldOwnership ownership = getWorldOwnership(world);
+        if (ownership == null) {
+            return new ArrayList<>();
+        }
+
+        return lookupMemberRegions(ownership, playerId, playerName);
+    }
+
+    /**
+     * Get regions where player is member in any of the worlds
+     * Regions of the same name in different worlds are listed once per world
+     *
+     * @param worlds Worlds to search
+     * @param playerId Player UUID or null if only the name is known
+     * @param playerName Player name
+     * @return Region ids in world order, sorted within each world
+     */
+    public List<String> getMemberRegions(List<World> worlds, UUID playerId, String playerName) {
+        List<String> regions = new ArrayList<>();
+        for (World world : worlds) {
+            WorldOwnership ownership = getWorldOwnership(world);
+            if (ownership != null) {
+                regions.addAll(lookupMemberRegions(ownership, playerId, playerName));
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Get regions where player is owner or member
+     *
+     * @param world World
+     * @param playerId Player UUID
+     * @return Sorted region ids
+     */
+    public List<String> getPlayerRegions(World world, UUID playerId) {
+        WorldOwnership ownership = getWorldOwnership(world);
+        if (ownership == null) {
+            return new ArrayList<>();
+        }
+        return merge(ownership.owners.getOrDefault(playerId, Collections.emptyList()),
+            ownership.members.getOrDefault(playerId, Collections.emptyList()));
+    }
+
+    private static List<String> lookupMemberRegions(WorldOwnership ownership, UUID playerId, String playerName) {
+        List<String> byId = playerId != null
+            ? ownership.members.getOrDefault(playerId, Collections.emptyList())
+            : Collections.emptyList();
+        List<String> byName = playerName != null
+            ? ownership.memberNames.getOrDefault(playerName.toLowerCase(), Collections.emptyList())
+            : Collections.emptyList();
+        return merge(byId, byName);
+    }
+
+    /**
+     * Drop all indexed worlds
+     */
+    public void clear() {
+        worlds.clear();
+    }
+
+    /**
+     * Patch index after region was created, removed or changed
+     * Worlds that were not built yet are skipped, they are built on first lookup
+     */
+    @Override
+    public void onRegionChanged(World world, String regionId, ProtectedRegion region) {
+        WorldOwnership ownership = worlds.get(world.getUID());
+        if (ownership == null) {
+            return;
+        }
+
+        synchronized (ownership) {
+            RegionEntry previous = ownership.regions.remove(regionId);
+            if (previous != null) {
+                removeEntry(ownership, previous);
+            }
+
+            if (region != null) {
+                RegionEntry entry = new RegionEntry(region);
+                ownership.regions.put(entry.id, entry);
+                addEntry(ownership, entry);
+            }
+        }
+    }
+
+    /**
+     * Get world ownership, building it on first access
+     */
+    private WorldOwnership getWorldOwnership(World world) {
+        WorldOwnership ownership = worlds.get(world.getUID());
+        if (ownership == null) {
+            ownership = buildWorldOwnership(world);
+            if (ownership != null) {
+                worlds.put(world.getUID(), ownership);
+            }
+        }
+        return ownership;
+    }
+
+    /**
+     * Build ownership index from all regions of the world
+     */
+    private WorldOwnership buildWorldOwnership(World world) {
+        try {
+            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
+            RegionManager regions = container.get(BukkitAdapter.adapt(world));
+            if (regions == null) {
+                return null;
+            }
+
+            WorldOwnership ownership = new WorldOwnership();
+            for (ProtectedRegion region : regions.getRegions().values()) {
+                RegionEntry entry = new RegionEntry(region);
+                ownership.regions.put(entry.id, entry);
+                addEntry(ownership, entry);
+            }
+
+            if (plugin.getConfigManager().isDebugMode()) {
+                plugin.getLogger().info("[DEBUG] RegionOwnershipIndex: built index for world " + world.getName()
+                    + " (" + ownership.regions.size() + " regions, " + ownership.owners.size() + " owners, "
+                    + ownership.members.size() + " members)");
+            }
+            return ownership;
+
+        } catch (Exception e) {
+            plugin.getLogger().warning("Ошибка при построении индекса владельцев для мира " + world.getName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void addEntry(WorldOwnership ownership, RegionEntry entry) {
+        for (UUID owner : entry.owners) {
+            ownership.owners.merge(owner, List.of(entry.id), (list, added) -> insert(list, entry.id));
+        }
+        for (UUID member : entry.members) {
+            ownership.members.merge(member, List.of(entry.id), (list, added) -> insert(list, entry.id));
+        }
+        for (String name : entry.memberNames) {
+            ownership.memberNames.merge(name, List.of(entry.id), (list, added) -> insert(list, entry.id));
+        }
+    }
+
+    private static void removeEntry(WorldOwnership ownership, RegionEntry entry) {
+        for (UUID owner : entry.owners) {
+            ownership.owners.computeIfPresent(owner, (key, list) -> without(list, entry.id));
+        }
+        for (UUID member : entry.members) {
+            ownership.members.computeIfPresent(member, (key, list) -> without(list, entry.id));
+        }
+        for (String name : entry.memberNames) {
+            ownership.memberNames.computeIfPresent(name, (key, list) -> without(list, entry.id));
+        }
+    }
+
+    /**
+     * Copy of sorted list with id inserted at its position
+     * Lists are replaced, never modified, so lookups can run concurrently
+     */
+    private static List<String> insert(List<String> list, String id) {
+        int position = Collections.binarySearch(list, id);
+        if (position >= 0) {
+            return list;
+        }
+
+        List<String> result = new ArrayList<>(list.size() + 1);
+        result.addAll(list);
+        result.add(-position - 1, id);
+        return Collections.unmodifiableList(result);
+    }
+
+    private static List<String> without(List<String> list, String id) {
+        int position = Collections.binarySearch(list, id);
+        if (position < 0) {
+            return list;
+        }
+        if (list.size() == 1) {
+            return null;
+        }
+
+        List<String> result = new ArrayList<>(list);
+        result.remove(position);
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Merge two sorted lists without duplicates
+     */
+    private static List<String> merge(List<String> first, List<String> second) {
+        List<String> result = new ArrayList<>(first.size() + second.size());
+        int i = 0;
+        int j = 0;
+        while (i < first.size() || j < second.size()) {
+            if (j >= second.size()) {
+                result.add(first.get(i++));
+            } else if (i >= first.size()) {
+                result.add(second.get(j++));
+            } else {
+                int compare = first.get(i).compareTo(second.get(j));
+                if (compare < 0) {
+                    result.add(first.get(i++));
+                } else if (compare > 0) {
+                    result.add(second.get(j++));
+                } else {
+                    result.add(first.get(i++));
+                    j++;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Index data of a single world
+     */
+    private static class WorldOwnership {
+        private final Map<String, RegionEntry> regions = new HashMap<>();
+        private final Map<UUID, List<String>> owners = new ConcurrentHashMap<>();
+        private final Map<UUID, List<String>> members = new ConcurrentHashMap<>();
+        private final Map<String, List<String>> memberNames = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Owners and members of a region at the time it was indexed
+     */
+    private static final class RegionEntry {
+        private final String id;
+        private final Set<UUID> owners;
+        private final Set<UUID> members;
+        private final Set<String> memberNames;
+
+        private RegionEntry(ProtectedRegion region) {
+            this.id = region.getId();
+            this.owners = new HashSet<>(region.getOwners().getUniqueIds());
+
+            DefaultDomain domain = region.getMembers();
+            this.members = new HashSet<>(domain.getUniqueIds());
+            this.memberNames = new HashSet<>();
+            for (String name : domain.getPlayers()) {
+                memberNames.add(name.toLowerCase());
+            }
+        }
+    }
+}
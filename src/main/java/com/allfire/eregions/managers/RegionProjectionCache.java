@@ -0,0 +1,196 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import com.sk89q.worldguard.protection.flags.Flag;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Region Projection Cache
+ *
+ * Keeps owner names, member names and formatted flags of regions as sorted immutable lists
+ * together with region metrics
+ * Indexed placeholders (_1 ... _50) of the same region share one computation
+ * Keyed by world and region id, each region has its own version bumped when it changes
+ * Projections with names still unresolved are recomputed once more names are known
+ *
+ * @author AllF1RE
+ */
+public class RegionProjectionCache implements RegionChangeManager.RegionChangeListener {
+
+    private final ERegions plugin;
+    private final Map<UUID, Map<String, RegionSlot>> worlds; // World UID -> region id -> slot
+    private final PlayerNameCache playerNameCache;
+
+    public RegionProjectionCache(ERegions plugin) {
+        this.plugin = plugin;
+        this.worlds = new ConcurrentHashMap<>();
+        this.playerNameCache = plugin.getPlayerNameCache();
+    }
+
+    /**
+     * Get projection of region, computing it if missing or stale
+     *
+     * @param world World of the region
+     * @param region Region
+     * @return Projection
+     */
+    public Projection get(World world, ProtectedRegion region) {
+        RegionSlot slot = worlds.computeIfAbsent(world.getUID(), id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(region.getId(), id -> new RegionSlot());
+        long version = slot.version.get();
+        long namesVersion = playerNameCache.getNamesVersion();
+        long renamesVersion = playerNameCache.getRenamesVersion();
+
+        // The region instance changes when WorldGuard reloads its regions
+        Projection projection = slot.projection;
+        boolean current = projection != null && projection.version == version && projection.region == region;
+        if (current && projection.renamesVersion == renamesVersion
+                && (projection.complete || projection.namesVersion == namesVersion)) {
+            return projection;
+        }
+
+        // Only names changed, bounds are the same
+        RegionMetrics metrics = current ? projection.metrics : RegionMetrics.of(region);
+        Set<UUID> ownerIds = region.getOwners().getUniqueIds();
+        Set<UUID> memberIds = region.getMembers().getUniqueIds();
+        List<String> owners = resolveNames(ownerIds);
+        List<String> members = resolveNames(memberIds);
+        boolean complete = owners.size() == ownerIds.size() && members.size() == memberIds.size();
+
+        projection = new Projection(region, version, namesVersion, renamesVersion, complete,
+            owners, members, formatFlags(region), metrics);
+        slot.projection = projection;
+        return projection;
+    }
+
+    /**
+     * Drop all projections
+     */
+    public void clear() {
+        worlds.clear();
+    }
+
+    @Override
+    public void onRegionChanged(World world, String regionId, ProtectedRegion region) {
+        Map<String, RegionSlot> slots = worlds.get(world.getUID());
+        if (slots == null) {
+            return;
+        }
+
+        RegionSlot slot = region == null ? slots.remove(regionId) : slots.get(regionId);
+        if (slot != null) {
+            slot.version.incrementAndGet();
+        }
+    }
+
+    /**
+     * Resolve UUIDs to sorted player names without blocking, names not known yet are left out
+     */
+    private List<String> resolveNames(Set<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> names = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            String name = playerNameCache.getName(uuid);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        return List.copyOf(names);
+    }
+
+    /**
+     * Format flags as name=value, sorted by flag name
+     */
+    private List<String> formatFlags(ProtectedRegion region) {
+        Map<Flag<?>, Object> flags = region.getFlags();
+        if (flags.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String[] formatted = new String[flags.size()];
+        int i = 0;
+        for (Map.Entry<Flag<?>, Object> entry : flags.entrySet()) {
+            formatted[i++] = entry.getKey().getName() + "=" + entry.getValue();
+        }
+        Arrays.sort(formatted);
+        return List.of(formatted);
+    }
+
+    /**
+     * Cached projection and change version of a single region
+     */
+    private static final class RegionSlot {
+        private final AtomicLong version = new AtomicLong();
+        private volatile Projection projection;
+    }
+
+    /**
+     * Immutable owner, member and flag lists and metrics of a region
+     */
+    public static final class Projection {
+        private final ProtectedRegion region;
+        private final long version;
+        private final long namesVersion;
+        private final long renamesVersion;
+        private final boolean complete; // All owner and member names were known
+        private final List<String> owners;
+        private final List<String> members;
+        private final List<String> flags;
+        private final RegionMetrics metrics;
+
+        private Projection(ProtectedRegion region, long version, long namesVersion, long renamesVersion, boolean complete,
+                           List<String> owners, List<String> members, List<String> flags, RegionMetrics metrics) {
+            this.region = region;
+            this.version = version;
+            this.namesVersion = namesVersion;
+            this.renamesVersion = renamesVersion;
+            this.complete = complete;
+            this.owners = owners;
+            this.members = members;
+            this.flags = flags;
+            this.metrics = metrics;
+        }
+
+        public List<String> getOwners() {
+            return owners;
+        }
+
+        public List<String> getMembers() {
+            return members;
+        }
+
+        public List<String> getFlags() {
+            return flags;
+        }
+
+        public RegionMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Get element by 1-based index
+         *
+         * @param list One of the lists of this projection
+         * @param index 1-based index
+         * @return Element or empty string if out of range
+         */
+        public static String getByIndex(List<String> list, int index) {
+            return index >= 1 && index <= list.size() ? list.get(index - 1) : "";
+        }
+    }
+}
@@ -5,8 +5,8 @@ import com.allfire.eregions.utils.WorldEditUtils;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -27,8 +27,9 @@ public class SelectionManager {
     public SelectionManager(ERegions plugin) {
         this.plugin = plugin;
         this.worldEditUtils = null; // Will be set later
-        this.activeSelections = new HashMap<>();
-        this.waitingForName = new HashMap<>();
+        // Concurrent, selection placeholders read snapshots from async threads
+        this.activeSelections = new ConcurrentHashMap<>();
+        this.waitingForName = new ConcurrentHashMap<>();
     }
     
     /**
@@ -189,6 +190,18 @@ public class SelectionManager {
         return activeSelections.get(player);
     }
     
+    /**
+     * Get snapshot of the selection made through eRegions
+     * Safe to call from any thread
+     * 
+     * @param player Player
+     * @return Snapshot or null if player has no complete eRegions selection
+     */
+    public SelectionSnapshot getSelectionSnapshot(Player player) {
+        SelectionData selectionData = activeSelections.get(player);
+        return selectionData != null ? selectionData.getSnapshot() : null;
+    }
+    
     /**
      * Clear selection for player (removes from activeSelections and waitingForName)
      * Use this only when you want to completely remove the selection
@@ -286,6 +299,7 @@ public class SelectionManager {
         private Location pos1;
         private Location pos2;
         private boolean completed;
+        private volatile SelectionSnapshot snapshot;
         
         public SelectionData(Player player, String type) {
             this.player = player;
@@ -312,6 +326,7 @@ public class SelectionManager {
         
         public void setPos1(Location pos1) {
             this.pos1 = pos1;
+            this.snapshot = SelectionSnapshot.of(pos1, pos2);
         }
         
         public Location getPos2() {
@@ -320,6 +335,7 @@ public class SelectionManager {
         
         public void setPos2(Location pos2) {
             this.pos2 = pos2;
+            this.snapshot = SelectionSnapshot.of(pos1, pos2);
         }
         
         public boolean isCompleted() {
@@ -329,5 +345,100 @@ public class SelectionManager {
         public void setCompleted(boolean completed) {
             this.completed = completed;
         }
+        
+        /**
+         * Get snapshot of current points
+         * 
+         * @return Snapshot or null if no point is set
+         */
+        public SelectionSnapshot getSnapshot() {
+            return snapshot;
+        }
+    }
+    
+    /**
+     * Immutable cuboid of a selection, rebuilt whenever a point is set
+     * Corners are normalized to minimum and maximum like WorldEdit does,
+     * volume is computed once here instead of on every placeholder request
+     */
+    public static final class SelectionSnapshot {
+        private final String worldName;
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+        private final int maxX;
+        private final int maxY;
+        private final int maxZ;
+        private final long volume;
+        
+        private SelectionSnapshot(String worldName, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.worldName = worldName;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.maxZ = maxZ;
+            this.volume = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+        }
+        
+        /**
+         * Build snapshot from selection points
+         * Incomplete selections have no snapshot, WorldEdit has no region for them either
+         * 
+         * @param pos1 First point or null
+         * @param pos2 Second point or null
+         * @return Snapshot or null if a point is missing or points are in different worlds
+         */
+        static SelectionSnapshot of(Location pos1, Location pos2) {
+            if (pos1 == null || pos2 == null || pos1.getWorld() == null || pos1.getWorld() != pos2.getWorld()) {
+                return null;
+            }
+            
+            return new SelectionSnapshot(pos1.getWorld().getName(),
+                Math.min(pos1.getBlockX(), pos2.getBlockX()),
+                Math.min(pos1.getBlockY(), pos2.getBlockY()),
+                Math.min(pos1.getBlockZ(), pos2.getBlockZ()),
+                Math.max(pos1.getBlockX(), pos2.getBlockX()),
+                Math.max(pos1.getBlockY(), pos2.getBlockY()),
+                Math.max(pos1.getBlockZ(), pos2.getBlockZ()));
+        }
+        
+        public String getWorldName() {
+            return worldName;
+        }
+        
+        public int getMinX() {
+            return minX;
+        }
+        
+        public int getMinY() {
+            return minY;
+        }
+        
+        public int getMinZ() {
+            return minZ;
+        }
+        
+        public int getMaxX() {
+            return maxX;
+        }
+        
+        public int getMaxY() {
+            return maxY;
+        }
+        
+        public int getMaxZ() {
+            return maxZ;
+        }
+        
+        /**
+         * Get number of blocks in selection
+         * 
+         * @return Volume
+         */
+        public long getVolume() {
+            return volume;
+        }
     }
 }
@@ -0,0 +1,307 @@
+package com.allfire.eregions.managers;
+
+import com.allfire.eregions.ERegions;
+import net.md_5.bungee.api.ChatColor;
+import net.md_5.bungee.api.chat.TranslatableComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.boss.BarColor;
+import org.bukkit.boss.BarStyle;
+import org.bukkit.boss.BossBar;
+import org.bukkit.entity.Player;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.potion.PotionEffectType;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Trigger Action Registry
+ *
+ * Native trigger actions written as "name! arguments" in trigger commands
+ * They call the Bukkit API directly instead of dispatching a command
+ * Built in: sound!, particle!, bossbar!, teleport!, effect!, say!, msg!
+ * Other plugins can add their own through CommandTriggerManager.registerAction
+ * Created before the config is loaded, trigger lines are resolved against it when compiled
+ *
+ * @author AllF1RE
+ */
+public class TriggerActionRegistry {
+
+    // Prefixes handled by CommandTemplate.ActionType itself
+    private static final Set<String> RESERVED = Set.of("asplayer", "asconsole", "chat", "actionbar", "title", "subtitle");
+
+    private final ERegions plugin;
+    private final Map<String, TriggerAction> actions; // Lowercase name -> action
+
+    public TriggerActionRegistry(ERegions plugin) {
+        this.plugin = plugin;
+        this.actions = new ConcurrentHashMap<>();
+        registerDefaults();
+    }
+
+    /**
+     * Register action, replacing an action of the same name
+     *
+     * @param name Action name without "!"
+     * @param action Action
+     * @throws IllegalArgumentException if the name is invalid or reserved
+     */
+    public void register(String name, TriggerAction action) {
+        String key = name != null ? name.toLowerCase() : "";
+        if (!isValidName(key) || RESERVED.contains(key)) {
+            throw new IllegalArgumentException("Invalid or reserved trigger action name: " + name);
+        }
+        actions.put(key, action);
+    }
+
+    /**
+     * Remove action
+     *
+     * @param name Action name
+     */
+    public void unregister(String name) {
+        actions.remove(name.toLowerCase());
+    }
+
+    /**
+     * Get action by name
+     *
+     * @param name Action name
+     * @return Action or null if not registered
+     */
+    public TriggerAction get(String name) {
+        return actions.get(name.toLowerCase());
+    }
+
+    /**
+     * Check if name can be used as action prefix: letters, digits, '_' and '-'
+     *
+     * @param name Action name
+     * @return True if valid
+     */
+    public static boolean isValidName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void registerDefaults() {
+        register("sound", this::parseSound);
+        register("particle", this::parseParticle);
+        register("bossbar", this::parseBossBar);
+        register("teleport", this::parseTeleport);
+        register("effect", this::parseEffect);
+        register("say", this::parseSay);
+        register("msg", this::parseMessage);
+    }
+
+    /**
+     * sound! <sound key> [volume] [pitch]
+     * Unknown keys are sent as they are, so resource pack sounds work as well
+     */
+    private PreparedAction parseSound(String argument) {
+        String[] args = split(argument, 1);
+        float volume = args.length > 1 ? Float.parseFloat(args[1]) : 1.0f;
+        float pitch = args.length > 2 ? Float.parseFloat(args[2]) : 1.0f;
+
+        Sound sound = Registry.SOUNDS.match(args[0]);
+        String key = args[0];
+        return player -> {
+            if (sound != null) {
+                player.playSound(player.getLocation(), sound, volume, pitch);
+            } else {
+                player.playSound(player.getLocation(), key, volume, pitch);
+            }
+        };
+    }
+
+    /**
+     * particle! <particle> [count] [spread]
+     * Shown to the player only, around the body
+     */
+    private PreparedAction parseParticle(String argument) {
+        String[] args = split(argument, 1);
+        Particle particle = Registry.PARTICLE_TYPE.match(args[0]);
+        if (particle == null) {
+            throw new IllegalArgumentException("Unknown particle: " + args[0]);
+        }
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        double spread = args.length > 2 ? Double.parseDouble(args[2]) : 0.5;
+
+        return player -> player.spawnParticle(particle, player.getLocation().add(0, 1, 0), count, spread, spread, spread, 0);
+    }
+
+    /**
+     * bossbar! <color> <seconds> <text>
+     */
+    private PreparedAction parseBossBar(String argument) {
+        String[] args = argument.trim().split("\\s+", 3);
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: bossbar! <color> <seconds> <text>");
+        }
+        BarColor color = BarColor.valueOf(args[0].toUpperCase());
+        long duration = Math.max(1, Integer.parseInt(args[1])) * 20L;
+        String text = args[2];
+
+        return player -> {
+            BossBar bossBar = Bukkit.createBossBar(plugin.getMessageUtils().colorize(text), color, BarStyle.SOLID);
+            bossBar.addPlayer(player);
+            Bukkit.getScheduler().runTaskLater(plugin, bossBar::removeAll, duration);
+        };
+    }
+
+    /**
+     * teleport! <x> <y> <z> [world]
+     * Player keeps looking in the same direction
+     * The world is looked up when the action runs, it may be loaded after the config
+     */
+    private PreparedAction parseTeleport(String argument) {
+        String[] args = split(argument, 3);
+        double x = Double.parseDouble(args[0]);
+        double y = Double.parseDouble(args[1]);
+        double z = Double.parseDouble(args[2]);
+        String worldName = args.length > 3 ? args[3] : null;
+
+        return player -> {
+            World world = worldName != null ? Bukkit.getWorld(worldName) : player.getWorld();
+            if (world == null) {
+                throw new IllegalArgumentException("Unknown world: " + worldName);
+            }
+
+            Location current = player.getLocation();
+            player.teleport(new Location(world, x, y, z, current.getYaw(), current.getPitch()));
+        };
+    }
+
+    /**
+     * effect! <effect> <seconds> [amplifier]
+     */
+    private PreparedAction parseEffect(String argument) {
+        String[] args = split(argument, 2);
+        PotionEffectType type = Registry.EFFECT.match(args[0]);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown effect: " + args[0]);
+        }
+        int seconds = Integer.parseInt(args[1]);
+        int amplifier = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        return player -> player.addPotionEffect(new PotionEffect(type, seconds * 20, amplifier));
+    }
+
+    /**
+     * say! <text>
+     * Announcement like the vanilla console /say, also used for "asConsole! say ..."
+     * Dispatched as before when another plugin replaced /say or the text has selectors
+     */
+    private PreparedAction parseSay(String argument) {
+        if (argument.isEmpty()) {
+            throw new IllegalArgumentException("Usage: say! <text>");
+        }
+
+        return player -> {
+            if (argument.indexOf('@') >= 0 || Bukkit.getPluginCommand("say") != null) {
+                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "say " + argument);
+                return;
+            }
+
+            TranslatableComponent message = new TranslatableComponent("chat.type.announcement", "Server", argument);
+            for (Player online : Bukkit.getOnlinePlayers()) {
+                online.spigot().sendMessage(message);
+            }
+            Bukkit.getConsoleSender().sendMessage("[Server] " + argument);
+        };
+    }
+
+    /**
+     * msg! <player> <text>
+     * Private message from the trigger player like the vanilla /msg, also used for "asPlayer! msg ..."
+     * Run as the player's command when another plugin replaced /msg, the target is not
+     * an online player name or the player may not use /msg, so the command reports it
+     */
+    private PreparedAction parseMessage(String argument) {
+        String[] args = argument.split("\\s+", 2);
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: msg! <player> <text>");
+        }
+        String target = args[0];
+        String text = args[1];
+
+        return player -> {
+            Player recipient = target.startsWith("@") ? null : Bukkit.getPlayerExact(target);
+            if (recipient == null || Bukkit.getPluginCommand("msg") != null
+                    || !player.hasPermission("minecraft.command.msg")) {
+                player.performCommand("msg " + argument);
+                return;
+            }
+
+            TranslatableComponent incoming = new TranslatableComponent("commands.message.display.incoming",
+                player.getDisplayName(), text);
+            incoming.setColor(ChatColor.GRAY);
+            incoming.setItalic(true);
+            TranslatableComponent outgoing = new TranslatableComponent("commands.message.display.outgoing",
+                recipient.getDisplayName(), text);
+            outgoing.setColor(ChatColor.GRAY);
+            outgoing.setItalic(true);
+
+            recipient.spigot().sendMessage(incoming);
+            player.spigot().sendMessage(outgoing);
+        };
+    }
+
+    /**
+     * Split arguments by whitespace, requiring a minimum count
+     */
+    private static String[] split(String argument, int required) {
+        String[] args = argument.trim().split("\\s+");
+        if (args.length < required || args[0].isEmpty()) {
+            throw new IllegalArgumentException("Expected at least " + required + " arguments: " + argument);
+        }
+        return args;
+    }
+
+    /**
+     * Native trigger action
+     * Arguments are parsed once at config load when they contain no placeholders,
+     * otherwise every time the line runs
+     */
+    @FunctionalInterface
+    public interface TriggerAction {
+
+        /**
+         * Parse arguments
+         *
+         * @param argument Rendered text after "name!", trimmed
+         * @return Action with parsed arguments
+         * @throws Exception on invalid arguments, logged by eRegions
+         */
+        PreparedAction prepare(String argument) throws Exception;
+    }
+
+    /**
+     * Native trigger action with parsed arguments, always called on the main thread
+     */
+    @FunctionalInterface
+    public interface PreparedAction {
+
+        /**
+         * Run action for player
+         *
+         * @param player Player the trigger fired for
+         * @throws Exception on failure, logged by eRegions
+         */
+        void execute(Player player) throws Exception;
+    }
+}
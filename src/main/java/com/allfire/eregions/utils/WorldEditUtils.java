@@ -1,13 +1,16 @@
 package com.allfire.eregions.utils;
 
 import com.allfire.eregions.ERegions;
+import com.sk89q.worldedit.LocalSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.bukkit.BukkitPlayer;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.regions.Region;
+import com.sk89q.worldedit.regions.selector.CuboidRegionSelector;
 import com.sk89q.worldedit.session.SessionManager;
 import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.World;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -46,8 +49,8 @@ public class WorldEditUtils {
                 return;
             }
             
-            // Clear any existing selection using command
-            boolean result = Bukkit.dispatchCommand(player, "//sel");
+            // Clear any existing selection
+            boolean result = clearSelection(player);
             if (plugin.getConfigManager().isDebugMode()) {
                 plugin.getLogger().info("[DEBUG] WorldEdit selection clear result: " + result);
             }
@@ -68,8 +71,7 @@ public class WorldEditUtils {
      */
     public void disableSelection(Player player) {
         try {
-            // Clear selection using command
-            boolean result = Bukkit.dispatchCommand(player, "//sel");
+            boolean result = clearSelection(player);
             if (plugin.getConfigManager().isDebugMode()) {
                 plugin.getLogger().info("[DEBUG] WorldEdit selection disabled for player: " + player.getName() + " (result: " + result + ")");
             }
@@ -79,6 +81,28 @@ public class WorldEditUtils {
         }
     }
     
+    /**
+     * Clear WorldEdit selection of player in current world
+     * Uses the session directly, "//sel" is only dispatched if the API fails
+     * 
+     * @param player Player
+     * @return True if selection was cleared
+     */
+    private boolean clearSelection(Player player) {
+        try {
+            BukkitPlayer actor = BukkitAdapter.adapt(player);
+            LocalSession session = WorldEdit.getInstance().getSessionManager().get(actor);
+            session.getRegionSelector(actor.getWorld()).clear();
+            session.dispatchCUISelection(actor);
+            return true;
+        } catch (Exception apiException) {
+            if (plugin.getConfigManager().isDebugMode()) {
+                plugin.getLogger().warning("[DEBUG] WorldEdit API failed, falling back to //sel: " + apiException.getMessage());
+            }
+            return Bukkit.dispatchCommand(player, "//sel");
+        }
+    }
+    
     /**
      * Get player's selection
      * 
@@ -118,44 +142,22 @@ public class WorldEditUtils {
                 return;
             }
 
-            // Try using WorldEdit API directly first for better SelectionVisualizer compatibility
+            // Set the cuboid on the session directly, in one synchronous call
             try {
-                // Get WorldEdit session
-                var sessionManager = WorldEdit.getInstance().getSessionManager();
-                var bukkitPlayer = BukkitAdapter.adapt(player);
-                var session = sessionManager.get(bukkitPlayer);
+                BukkitPlayer actor = BukkitAdapter.adapt(player);
+                LocalSession session = WorldEdit.getInstance().getSessionManager().get(actor);
+                World world = BukkitAdapter.adapt(pos1.getWorld());
                 
-                // Get world
-                var world = BukkitAdapter.adapt(pos1.getWorld());
-                
-                // Create region selector
-                var regionSelector = session.getRegionSelector(world);
-                
-                // Convert Bukkit locations to WorldEdit BlockVector3
-                var wePos1 = BukkitAdapter.asBlockVector(pos1);
-                var wePos2 = BukkitAdapter.asBlockVector(pos2);
-                
-                // Set selection points
-                regionSelector.selectPrimary(wePos1, null);
-                regionSelector.selectSecondary(wePos2, null);
+                CuboidRegionSelector selector = new CuboidRegionSelector(world,
+                    BukkitAdapter.asBlockVector(pos1), BukkitAdapter.asBlockVector(pos2));
+                session.setRegionSelector(world, selector);
+                // Let CUI mods and SelectionVisualizer see the new selection
+                session.dispatchCUISelection(actor);
                 
                 if (plugin.getConfigManager().isDebugMode()) {
                     plugin.getLogger().info("[DEBUG] WorldEdit API selection set successfully for player: " + player.getName());
                 }
                 
-                // Also try commands as backup
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    String pos1Cmd = "//pos1 " + pos1.getBlockX() + " " + pos1.getBlockY() + " " + pos1.getBlockZ();
-                    String pos2Cmd = "//pos2 " + pos2.getBlockX() + " " + pos2.getBlockY() + " " + pos2.getBlockZ();
-                    
-                    boolean result1 = Bukkit.dispatchCommand(player, pos1Cmd);
-                    boolean result2 = Bukkit.dispatchCommand(player, pos2Cmd);
-                    
-                    if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] WorldEdit command backup - pos1: " + result1 + ", pos2: " + result2);
-                    }
-                }, 3L);
-                
             } catch (Exception apiException) {
                 if (plugin.getConfigManager().isDebugMode()) {
                     plugin.getLogger().warning("[DEBUG] WorldEdit API failed, falling back to commands: " + apiException.getMessage());
@@ -255,9 +257,9 @@ public class WorldEditUtils {
      * Get selection size
      * 
      * @param player Player to get selection from
-     * @return Size in blocks
+     * @return Volume in blocks
      */
-    public int getSelectionSize(Player player) {
+    public long getSelectionSize(Player player) {
         try {
             if (!isWorldEditAvailable()) {
                 return 0;
@@ -269,7 +271,7 @@ public class WorldEditUtils {
                 return 0;
             }
             
-            return region.getArea();
+            return region.getVolume();
         } catch (Exception e) {
             return 0;
         }
@@ -1,6 +1,7 @@
 package com.allfire.eregions.utils;
 
 import com.allfire.eregions.ERegions;
+import com.allfire.eregions.managers.RegionMetrics;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldguard.WorldGuard;
@@ -161,6 +162,7 @@ public class WorldGuardUtils {
             
             // Save changes to WorldGuard
             regions.save();
+            notifyRegionChanged(world, regionName);
             
             plugin.getLogger().info("Регион " + regionName + " успешно создан!");
             return true;
@@ -201,6 +203,7 @@ public class WorldGuardUtils {
             
             // Remove region
             regions.removeRegion(regionName);
+            notifyRegionChanged(world, regionName);
             
             plugin.getLogger().info("Регион " + regionName + " успешно удален!");
             return true;
@@ -267,7 +270,7 @@ public class WorldGuardUtils {
      * Get player's regions (both owned and member)
      * 
      * @param player Player
-     * @return List of region names
+     * @return Sorted list of region names
      */
     public List<String> getPlayerRegions(Player player) {
         try {
@@ -275,20 +278,7 @@ public class WorldGuardUtils {
                 return new ArrayList<>();
             }
             
-            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-            RegionManager regions = container.get(BukkitAdapter.adapt(player.getWorld()));
-            
-            if (regions == null) {
-                return new ArrayList<>();
-            }
-            
-            List<String> playerRegions = new ArrayList<>();
-            for (ProtectedRegion region : regions.getRegions().values()) {
-                if (region.getOwners().contains(player.getUniqueId()) || region.getMembers().contains(player.getUniqueId())) {
-                    playerRegions.add(region.getId());
-                }
-            }
-            return playerRegions;
+            return plugin.getRegionOwnershipIndex().getPlayerRegions(player.getWorld(), player.getUniqueId());
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Ошибка при получении регионов игрока: " + player.getName(), e);
@@ -300,84 +290,25 @@ public class WorldGuardUtils {
      * Get player's owned regions only
      * 
      * @param player Player
-     * @return List of region names where player is owner
+     * @return Sorted list of region names where player is owner
      */
     public List<String> getPlayerOwnedRegions(Player player) {
-        if (plugin.getConfigManager().isDebugMode()) {
-            plugin.getLogger().info("[DEBUG] ========== WorldGuardUtils.getPlayerOwnedRegions ==========");
-            plugin.getLogger().info("[DEBUG] Player: " + player.getName());
-            plugin.getLogger().info("[DEBUG] Player UUID: " + player.getUniqueId());
-            plugin.getLogger().info("[DEBUG] Player world: " + player.getWorld().getName());
-        }
-        
         try {
             if (!isWorldGuardAvailable()) {
                 plugin.getLogger().warning("[DEBUG] WorldGuard is not available!");
                 return new ArrayList<>();
             }
             
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] WorldGuard is available, getting region container...");
-            }
-            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Region container: " + (container != null ? "found" : "null"));
-            }
-            
-            RegionManager regions = container.get(BukkitAdapter.adapt(player.getWorld()));
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Region manager: " + (regions != null ? "found" : "null"));
-            }
-            
-            if (regions == null) {
-                plugin.getLogger().warning("[DEBUG] No region manager found for world: " + player.getWorld().getName());
-                return new ArrayList<>();
-            }
-            
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Getting all regions in world...");
-            }
-            int totalRegions = regions.getRegions().size();
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Total regions in world: " + totalRegions);
-            }
-            
-            List<String> ownedRegions = new ArrayList<>();
-            int checkedRegions = 0;
-            
-            for (ProtectedRegion region : regions.getRegions().values()) {
-                checkedRegions++;
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Checking region " + checkedRegions + "/" + totalRegions + ": " + region.getId());
-                    plugin.getLogger().info("[DEBUG] Region owners: " + region.getOwners().getPlayers());
-                    plugin.getLogger().info("[DEBUG] Region members: " + region.getMembers().getPlayers());
-                }
-                
-                boolean isOwner = region.getOwners().contains(player.getUniqueId());
-                boolean isMember = region.getMembers().contains(player.getUniqueId());
-                
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] Player is owner: " + isOwner);
-                    plugin.getLogger().info("[DEBUG] Player is member: " + isMember);
-                }
-                
-                if (isOwner) {
-                    ownedRegions.add(region.getId());
-                    if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Added region to owned list: " + region.getId());
-                    }
-                }
-            }
+            List<String> ownedRegions = plugin.getRegionOwnershipIndex().getOwnedRegions(player.getWorld(), player.getUniqueId());
             
             if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Found " + ownedRegions.size() + " owned regions for player " + player.getName() + ": " + ownedRegions);
-                plugin.getLogger().info("[DEBUG] ========== WorldGuardUtils.getPlayerOwnedRegions END ==========");
+                plugin.getLogger().info("[DEBUG] WorldGuardUtils.getPlayerOwnedRegions: found " + ownedRegions.size()
+                    + " owned regions for player " + player.getName() + " in world " + player.getWorld().getName() + ": " + ownedRegions);
             }
             return ownedRegions;
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "[DEBUG] Error getting owned regions for player " + player.getName(), e);
-            e.printStackTrace();
             return new ArrayList<>();
         }
     }
@@ -410,6 +341,7 @@ public class WorldGuardUtils {
 
             region.getMembers().addPlayer(player.getUniqueId());
             regions.save(); // Save changes
+            notifyRegionChanged(world, regionName);
             return true;
 
         } catch (Exception e) {
@@ -450,6 +382,7 @@ public class WorldGuardUtils {
             setRegionExpelled(region, player.getName());
             
             regions.save(); // Save changes
+            notifyRegionChanged(world, regionName);
             return true;
 
         } catch (Exception e) {
@@ -486,6 +419,7 @@ public class WorldGuardUtils {
 
             region.getOwners().addPlayer(player.getUniqueId());
             regions.save(); // Save changes
+            notifyRegionChanged(world, regionName);
             return true;
 
         } catch (Exception e) {
@@ -526,6 +460,7 @@ public class WorldGuardUtils {
             setRegionExpelled(region, player.getName());
             
             regions.save(); // Save changes
+            notifyRegionChanged(world, regionName);
             return true;
 
         } catch (Exception e) {
@@ -635,6 +570,7 @@ public class WorldGuardUtils {
             }
 
             regions.save(); // Save changes
+            notifyRegionChanged(world, regionName);
             return true;
 
         } catch (Exception e) {
@@ -677,6 +613,7 @@ public class WorldGuardUtils {
 
             region.setFlag(flag, null); // Remove flag
             regions.save(); // Save changes
+            notifyRegionChanged(world, regionName);
             return true;
 
         } catch (Exception e) {
@@ -856,12 +793,8 @@ public class WorldGuardUtils {
             // Convert Bukkit location to WorldEdit BlockVector3
             BlockVector3 point = BukkitAdapter.asBlockVector(location);
             
-            // Check all regions to find which one contains this point
-            for (ProtectedRegion region : regions.getRegions().values()) {
-                if (region.contains(point)) {
-                    return region.getId();
-                }
-            }
+            ProtectedRegion region = findTopRegion(regions, point);
+            return region != null ? region.getId() : null;
             
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Ошибка при поиске региона по координатам", e);
@@ -919,17 +852,34 @@ public class WorldGuardUtils {
             }
             
             BlockVector3 point = BukkitAdapter.asBlockVector(location);
-            for (ProtectedRegion region : regions.getRegions().values()) {
-                if (region.contains(point)) {
-                    return region;
-                }
-            }
+            return findTopRegion(regions, point);
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Ошибка при поиске региона по координатам", e);
         }
         return null;
     }
     
+    /**
+     * Find region containing point with the highest priority
+     * Uses WorldGuard's spatial index instead of scanning all regions of the world,
+     * equal priorities are resolved by region id
+     * 
+     * @param regions Region manager of the world
+     * @param point Point to check
+     * @return Region or null if point is not in any region
+     */
+    private ProtectedRegion findTopRegion(RegionManager regions, BlockVector3 point) {
+        ProtectedRegion top = null;
+        for (ProtectedRegion region : regions.getApplicableRegions(point)) {
+            if (top == null
+                    || region.getPriority() > top.getPriority()
+                    || (region.getPriority() == top.getPriority() && region.getId().compareTo(top.getId()) < 0)) {
+                top = region;
+            }
+        }
+        return top;
+    }
+    
     /**
      * Get region flags as string
      * 
@@ -977,18 +927,11 @@ public class WorldGuardUtils {
      * Get region size
      * 
      * @param region Region to get size from
-     * @return Size in blocks
+     * @return Volume in blocks
      */
-    public int getRegionSize(ProtectedRegion region) {
+    public long getRegionSize(ProtectedRegion region) {
         try {
-            BlockVector3 min = region.getMinimumPoint();
-            BlockVector3 max = region.getMaximumPoint();
-            
-            int width = (int) (max.getX() - min.getX() + 1);
-            int height = (int) (max.getY() - min.getY() + 1);
-            int length = (int) (max.getZ() - min.getZ() + 1);
-            
-            return width * height * length;
+            return RegionMetrics.of(region).getVolume();
         } catch (Exception e) {
             return 0;
         }
@@ -1004,7 +947,7 @@ public class WorldGuardUtils {
         List<String> owners = new ArrayList<>();
         try {
             for (UUID uuid : region.getOwners().getUniqueIds()) {
-                String playerName = Bukkit.getOfflinePlayer(uuid).getName();
+                String playerName = plugin.getPlayerNameCache().getName(uuid);
                 if (playerName != null) {
                     owners.add(playerName);
                 }
@@ -1025,7 +968,7 @@ public class WorldGuardUtils {
         List<String> members = new ArrayList<>();
         try {
             for (UUID uuid : region.getMembers().getUniqueIds()) {
-                String playerName = Bukkit.getOfflinePlayer(uuid).getName();
+                String playerName = plugin.getPlayerNameCache().getName(uuid);
                 if (playerName != null) {
                     members.add(playerName);
                 }
@@ -1110,6 +1053,18 @@ public class WorldGuardUtils {
         }
     }
     
+    /**
+     * Notify region caches and indexes that region was changed
+     * 
+     * @param world World
+     * @param regionName Region name
+     */
+    public void notifyRegionChanged(World world, String regionName) {
+        if (plugin.getRegionChangeManager() != null) {
+            plugin.getRegionChangeManager().notifyRegionChanged(world, regionName);
+        }
+    }
+    
     /**
      * Check if WorldGuard is available
      * 
@@ -1125,72 +1080,18 @@ public class WorldGuardUtils {
     }
     
     /**
-     * Get regions where player is member
+     * Get regions where player is member, across all worlds
      */
     public List<String> getPlayerMemberRegions(String playerName) {
         List<String> regions = new ArrayList<>();
         try {
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] ========== WorldGuardUtils.getPlayerMemberRegions ==========");
-                plugin.getLogger().info("[DEBUG] Player: " + playerName);
-            }
-            
-            UUID playerUUID = Bukkit.getOfflinePlayer(playerName).getUniqueId();
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Player UUID: " + playerUUID);
-            }
-            
-            World world = Bukkit.getWorlds().get(0); // Get first world
-            if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Player world: " + world.getName());
-            }
+            UUID playerUUID = plugin.getPlayerNameCache().getUniqueId(playerName);
             
-            RegionContainer container = WorldGuard.getInstance().getPlatform().getRegionContainer();
-            RegionManager regionManager = container.get(BukkitAdapter.adapt(world));
-            
-            if (regionManager != null) {
-                if (plugin.getConfigManager().isDebugMode()) {
-                    plugin.getLogger().info("[DEBUG] WorldGuard is available, getting region container...");
-                    plugin.getLogger().info("[DEBUG] Region container: found");
-                    plugin.getLogger().info("[DEBUG] Region manager: found");
-                    plugin.getLogger().info("[DEBUG] Getting all regions in world...");
-                    plugin.getLogger().info("[DEBUG] Total regions in world: " + regionManager.getRegions().size());
-                }
-                
-                for (ProtectedRegion region : regionManager.getRegions().values()) {
-                    if (plugin.getConfigManager().isDebugMode()) {
-                        plugin.getLogger().info("[DEBUG] Checking region " + regions.size() + "/" + regionManager.getRegions().size() + ": " + region.getId());
-                    }
-                    
-                    if (region.getMembers() != null) {
-                        if (plugin.getConfigManager().isDebugMode()) {
-                            plugin.getLogger().info("[DEBUG] Region owners: " + region.getOwners().getPlayers());
-                            plugin.getLogger().info("[DEBUG] Region members: " + region.getMembers().getPlayers());
-                        }
-                        
-                        boolean isMember = region.getMembers().getPlayers().contains(playerName) || 
-                                         region.getMembers().getUniqueIds().contains(playerUUID);
-                        
-                        if (plugin.getConfigManager().isDebugMode()) {
-                            plugin.getLogger().info("[DEBUG] Player is member: " + isMember);
-                        }
-                        
-                        if (isMember) {
-                            regions.add(region.getId());
-                        }
-                    } else {
-                        if (plugin.getConfigManager().isDebugMode()) {
-                            plugin.getLogger().info("[DEBUG] Region owners: " + region.getOwners());
-                            plugin.getLogger().info("[DEBUG] Region members: " + region.getMembers());
-                            plugin.getLogger().info("[DEBUG] Player is member: false");
-                        }
-                    }
-                }
-            }
+            regions = plugin.getRegionOwnershipIndex().getMemberRegions(Bukkit.getWorlds(), playerUUID, playerName);
             
             if (plugin.getConfigManager().isDebugMode()) {
-                plugin.getLogger().info("[DEBUG] Found " + regions.size() + " member regions for player " + playerName + ": " + regions);
-                plugin.getLogger().info("[DEBUG] ========== WorldGuardUtils.getPlayerMemberRegions END ==========");
+                plugin.getLogger().info("[DEBUG] WorldGuardUtils.getPlayerMemberRegions: found " + regions.size()
+                    + " member regions for player " + playerName + ": " + regions);
             }
             
         } catch (Exception e) {
@@ -1229,6 +1130,7 @@ public class WorldGuardUtils {
             // Execute command in main thread
             plugin.getServer().getScheduler().runTask(plugin, () -> {
                 plugin.getServer().dispatchCommand(plugin.getServer().getConsoleSender(), command);
+                notifyRegionChanged(world, regionName);
             });
             
             return true; // Assume success since we can't easily get the result